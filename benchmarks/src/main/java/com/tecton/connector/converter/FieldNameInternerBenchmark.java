@@ -0,0 +1,99 @@
+package com.tecton.connector.converter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+/**
+ * Measures the heap held by a put()'s worth of converted records with and without field-name interning,
+ * and the cost of interning during conversion.
+ * <p>
+ * Each Struct carries a map of features whose keys are fresh Strings per record, as the upstream converter
+ * creates them. Without interning (a table of size 0, which returns every name as-is) each converted
+ * record keeps its own copies; with it, records share one String per name. The retained size of the
+ * converted records is printed once per fork, measured with JOL:
+ * {@code java -jar target/benchmarks.jar FieldNameInterner -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldNameInternerBenchmark {
+
+    private static final int RECORDS = 10_000;
+    private static final int FEATURES = 30;
+    private static final Schema SCHEMA = SchemaBuilder.struct()
+            .field("user_id", Schema.STRING_SCHEMA)
+            .field("features", SchemaBuilder.map(Schema.STRING_SCHEMA, Schema.FLOAT64_SCHEMA).build())
+            .build();
+
+    @Param({"false", "true"})
+    private boolean interned;
+
+    private StructConverter converter;
+    private Struct[] structs;
+    private List<Map<String, Object>> converted;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> props = new HashMap<>();
+        props.put(TectonHttpSinkConnectorConfig.WORKSPACE_NAME_CONFIG, "workspace");
+        props.put(TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG, "push_source");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_CLUSTER_ENDPOINT_CONFIG, "https://example.tecton.ai");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_AUTH_TOKEN_CONFIG, "token");
+        TectonHttpSinkConnectorConfig config = new TectonHttpSinkConnectorConfig(props);
+        converter = new StructConverter(config, new FieldNameInterner(interned ? config.fieldNameCacheSize : 0), null);
+
+        structs = new Struct[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            Map<String, Double> features = new LinkedHashMap<>();
+            for (int j = 0; j < FEATURES; j++) {
+                // A new String per record, as parsed from each record's JSON
+                features.put(new StringBuilder("feature_").append(j).toString(), (double) j);
+            }
+            structs[i] = new Struct(SCHEMA).put("user_id", "user_" + i).put("features", features);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> convert() throws InvalidRecordException {
+        List<Map<String, Object>> records = new ArrayList<>(RECORDS);
+        for (Struct struct : structs) {
+            records.add(converter.convert(struct));
+        }
+        converted = records;
+        return records;
+    }
+
+    @TearDown
+    public void printFootprint() {
+        // Drops the source records, so only what the converted records hold is counted
+        structs = null;
+        GraphLayout layout = GraphLayout.parseInstance(converted);
+        System.out.printf("%nRetained by %d converted records (interned=%s): %d bytes, %d bytes per record%n",
+                RECORDS, interned, layout.totalSize(), layout.totalSize() / RECORDS);
+    }
+}
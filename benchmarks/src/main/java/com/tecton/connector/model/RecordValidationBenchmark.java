@@ -0,0 +1,105 @@
+package com.tecton.connector.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the allocations and time of {@link TectonRecord#isValid(int, int)} with the Stream-based
+ * validation it replaced, on records nested to different depths.
+ * <p>
+ * Run with the GC profiler, whose {@code gc.alloc.rate.norm} is the number of bytes allocated per
+ * validation: {@code java -jar target/benchmarks.jar RecordValidation -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordValidationBenchmark {
+
+    private static final int FIELDS_PER_LEVEL = 20;
+    private static final int LIST_SIZE = 10;
+
+    @Param({"1", "4"})
+    private int depth;
+
+    private Map<String, Object> data;
+    private TectonRecord record;
+
+    @Setup
+    public void setUp() {
+        data = level(depth);
+        record = new TectonRecord(data);
+    }
+
+    @Benchmark
+    public boolean streams() {
+        return StreamValidation.isValid(data);
+    }
+
+    @Benchmark
+    public boolean loops() {
+        return record.isValid(64, 1_000_000);
+    }
+
+    /**
+     * Builds an object of scalar fields and a list of numbers, holding an object built the same way when
+     * more levels are left.
+     */
+    private static Map<String, Object> level(int levels) {
+        Map<String, Object> fields = new HashMap<>();
+        for (int i = 0; i < FIELDS_PER_LEVEL; i++) {
+            fields.put("field_" + i, i % 2 == 0 ? (Object) ("value_" + i) : (Object) (long) i);
+        }
+        List<Object> list = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            list.add((double) i);
+        }
+        fields.put("list", list);
+        if (levels > 1) {
+            fields.put("nested", level(levels - 1));
+        }
+        return fields;
+    }
+
+    /**
+     * The validation of TectonRecord before it was rewritten as a single loop-based pass, kept as the
+     * baseline.
+     */
+    private static final class StreamValidation {
+
+        static boolean isValid(Map<String, Object> data) {
+            return data.values().stream().allMatch(StreamValidation::isValidTectonValue);
+        }
+
+        private static boolean isValidTectonValue(Object value) {
+            if (value == null || value instanceof String || value instanceof Number
+                    || value instanceof Boolean) {
+                return true;
+            }
+            if (value instanceof List) {
+                return ((List<?>) value).stream().allMatch(StreamValidation::isValidTectonValue);
+            }
+            if (value instanceof Map) {
+                return ((Map<?, ?>) value).keySet().stream().allMatch(key -> key instanceof String)
+                        && ((Map<?, ?>) value).values().stream().allMatch(StreamValidation::isValidTectonValue);
+            }
+            return false;
+        }
+    }
+}
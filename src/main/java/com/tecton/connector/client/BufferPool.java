@@ -0,0 +1,172 @@
+package com.tecton.connector.client;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.kafka.common.metrics.Gauge;
+import com.tecton.connector.error.HttpClientException;
+import com.tecton.connector.metrics.ConnectorMetrics;
+
+/**
+ * Accounts for the bytes of the request bodies a task holds while they are queued or in flight, bounding
+ * them to a fixed total in the manner of the Kafka producer's {@code buffer.memory}.
+ * <p>
+ * Bodies reserve memory as they are encoded, before their bytes are added, and release it once their
+ * call completes. When too little memory is available, the encoding thread blocks until enough is released
+ * or the maximum block time elapses. Waiters are served in arrival order, so large bodies are not starved by small ones. A
+ * body larger than the whole pool reserves the whole pool, so it is still sent, on its own.
+ */
+public class BufferPool {
+
+    private static final String METRIC_GROUP = "buffer-pool-metrics";
+
+    private final long totalMemory;
+    private final long maxBlockNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Condition> waiters = new ArrayDeque<>();
+    private final LongAdder waitTimeNanos;
+    private final LongAdder exhausted;
+    private long availableMemory;
+
+    /**
+     * Constructs a BufferPool.
+     *
+     * @param totalMemory The total number of bytes that may be reserved at once.
+     * @param maxBlockMs  The maximum time to wait for memory to be released, in milliseconds.
+     * @param metrics     The metrics of the task.
+     */
+    public BufferPool(long totalMemory, long maxBlockMs, ConnectorMetrics metrics) {
+        this.totalMemory = totalMemory;
+        this.maxBlockNanos = TimeUnit.MILLISECONDS.toNanos(maxBlockMs);
+        this.availableMemory = totalMemory;
+        metrics.metrics().addMetric(
+                metrics.metricName("buffer-total-bytes", METRIC_GROUP,
+                        "The total bytes of request bodies the task may hold", Collections.emptyMap()),
+                (Gauge<Long>) (config, now) -> totalMemory);
+        metrics.metrics().addMetric(
+                metrics.metricName("buffer-available-bytes", METRIC_GROUP,
+                        "The bytes of buffer memory not reserved by request bodies", Collections.emptyMap()),
+                (Gauge<Long>) (config, now) -> availableMemory());
+        metrics.metrics().addMetric(
+                metrics.metricName("waiting-threads", METRIC_GROUP,
+                        "The number of threads blocked waiting for buffer memory", Collections.emptyMap()),
+                (Gauge<Integer>) (config, now) -> queued());
+        this.waitTimeNanos = metrics.counter(metrics.metricName("bufferpool-wait-time-ns-total", METRIC_GROUP,
+                "The total time threads spent blocked waiting for buffer memory", Collections.emptyMap()));
+        this.exhausted = metrics.counter(metrics.metricName("buffer-exhausted-total", METRIC_GROUP,
+                "The number of requests that could not reserve buffer memory in time", Collections.emptyMap()));
+    }
+
+    /**
+     * Reserves memory for a request body, blocking until enough is available.
+     *
+     * @param size The size of the body in bytes.
+     * @return The number of bytes reserved, to pass to {@link #release(long)}.
+     * @throws HttpClientException If the memory could not be reserved within the maximum block time.
+     */
+    public long reserve(long size) throws HttpClientException {
+        long reserved = Math.min(size, totalMemory);
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && availableMemory >= reserved) {
+                availableMemory -= reserved;
+                return reserved;
+            }
+
+            // Take memory as it is released, until the whole body is covered
+            Condition moreMemory = lock.newCondition();
+            waiters.addLast(moreMemory);
+            long accumulated = 0;
+            long remainingNanos = maxBlockNanos;
+            try {
+                while (accumulated < reserved) {
+                    long start = System.nanoTime();
+                    boolean signalled;
+                    try {
+                        signalled = remainingNanos > 0 && moreMemory.await(remainingNanos, TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new HttpClientException("Interrupted while waiting for buffer memory", e);
+                    } finally {
+                        long waited = System.nanoTime() - start;
+                        waitTimeNanos.add(waited);
+                        remainingNanos -= waited;
+                    }
+                    if (!signalled) {
+                        exhausted.increment();
+                        throw new HttpClientException("Failed to reserve " + reserved + " bytes of buffer memory within "
+                                + TimeUnit.NANOSECONDS.toMillis(maxBlockNanos) + " ms");
+                    }
+                    long taken = Math.min(reserved - accumulated, availableMemory);
+                    availableMemory -= taken;
+                    accumulated += taken;
+                }
+                accumulated = 0;
+                return reserved;
+            } finally {
+                // Return what was taken if the reservation failed
+                availableMemory += accumulated;
+                waiters.remove(moreMemory);
+            }
+        } finally {
+            signalNextWaiter();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases memory reserved by {@link #reserve(long)}.
+     *
+     * @param reserved The number of bytes reserved.
+     */
+    public void release(long reserved) {
+        lock.lock();
+        try {
+            availableMemory += reserved;
+            signalNextWaiter();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total number of bytes that may be reserved at once.
+     */
+    public long totalMemory() {
+        return totalMemory;
+    }
+
+    /**
+     * Returns the number of bytes not reserved.
+     */
+    public long availableMemory() {
+        lock.lock();
+        try {
+            return availableMemory;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of threads waiting for memory.
+     */
+    public int queued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalNextWaiter() {
+        if (availableMemory > 0 && !waiters.isEmpty()) {
+            waiters.peekFirst().signal();
+        }
+    }
+}
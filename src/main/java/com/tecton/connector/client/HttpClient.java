@@ -16,8 +16,10 @@ public interface HttpClient extends Closeable {
      * Sends a synchronous request to the Tecton Ingest API.
      *
      * @param request The Tecton API request to send.
-     * @return The Tecton API response received.
+     * @return The Tecton API response received, or null if its body was not parsed.
      * @throws HttpClientException If an error occurs during the HTTP request.
+     * @throws org.apache.kafka.connect.errors.RetriableException If the request cannot be buffered in time,
+     *                                                            so the records should be delivered again.
      */
     TectonApiResponse sendSync(TectonApiRequest request) throws HttpClientException;
 
@@ -25,10 +27,31 @@ public interface HttpClient extends Closeable {
      * Sends an asynchronous request to the Tecton Ingest API.
      *
      * @param request The Tecton API request to send.
-     * @return A CompletableFuture that will be completed with the response or an exception.
+     * @return A CompletableFuture that will be completed with the response (null if its body was not parsed)
+     *         or an exception.
+     * @throws org.apache.kafka.connect.errors.RetriableException If the request cannot be buffered in time,
+     *                                                            so the records should be delivered again.
      */
     CompletableFuture<TectonApiResponse> sendAsync(TectonApiRequest request);
 
+    /**
+     * Changes the maximum number of concurrent asynchronous requests.
+     *
+     * @param concurrencyLimit The new limit.
+     */
+    default void setConcurrencyLimit(int concurrencyLimit) {
+        // Not supported by default
+    }
+
+    /**
+     * Changes whether request bodies are gzip-compressed.
+     *
+     * @param enabled True to compress the bodies of the following requests.
+     */
+    default void setCompressionEnabled(boolean enabled) {
+        // Not supported by default
+    }
+
     /**
      * Closes the HTTP client and releases any resources held.
      */
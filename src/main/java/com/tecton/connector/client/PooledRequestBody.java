@@ -0,0 +1,142 @@
+package com.tecton.connector.client;
+
+import java.io.IOException;
+import com.tecton.connector.error.HttpClientException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Sink;
+
+/**
+ * A request body held in an Okio {@link Buffer}, i.e. in 8 KiB segments drawn from Okio's segment pool,
+ * instead of a single array the size of the whole body.
+ * <p>
+ * Large bodies therefore never need a contiguous (and, under G1, humongous) allocation. The body can be
+ * written any number of times, as retries require: each write copies the segments' bytes to the sink
+ * without consuming or sharing them, so they stay recyclable. Once the call is complete, including its
+ * retries, {@link #release()} returns the segments to the pool for the next request.
+ * <p>
+ * When a {@link BufferPool} is given, the body reserves buffer memory as it is encoded, before any bytes are
+ * added to it, so bodies never hold more memory than they have reserved. A body reserves at most the whole
+ * pool, so one larger than the pool is still encoded and sent, on its own.
+ */
+final class PooledRequestBody extends RequestBody {
+
+    // Memory is reserved in chunks, so the pool's lock is not taken for every segment
+    private static final long RESERVATION_CHUNK_BYTES = 64 * 1024;
+
+    private final Buffer buffer = new Buffer();
+    private final MediaType mediaType;
+    private final BufferPool bufferPool;
+    private long reserved;
+
+    /**
+     * Constructs an empty PooledRequestBody.
+     *
+     * @param mediaType  The media type of the body.
+     * @param bufferPool The pool to reserve the body's memory from, or null.
+     */
+    PooledRequestBody(MediaType mediaType, BufferPool bufferPool) {
+        this.mediaType = mediaType;
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Returns the buffer holding the body.
+     */
+    Buffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns a sink to encode the body into, reserving buffer memory before each write. If the memory cannot
+     * be reserved in time, the write and every later one fail with a {@link BufferExhaustedException}.
+     */
+    Sink sink() {
+        if (bufferPool == null) {
+            return buffer;
+        }
+        return new ForwardingSink(buffer) {
+            private BufferExhaustedException failure;
+
+            @Override
+            public void write(Buffer source, long byteCount) throws IOException {
+                if (failure != null) {
+                    // e.g. flushed while the encoder closes after the failure, which must not block again
+                    throw failure;
+                }
+                try {
+                    reserve(buffer.size() + byteCount);
+                } catch (HttpClientException e) {
+                    failure = new BufferExhaustedException(e);
+                    throw failure;
+                }
+                super.write(source, byteCount);
+            }
+        };
+    }
+
+    private void reserve(long size) throws HttpClientException {
+        long limit = bufferPool.totalMemory();
+        if (size <= reserved || reserved >= limit) {
+            return;
+        }
+        reserved += bufferPool.reserve(Math.min(Math.max(size - reserved, RESERVATION_CHUNK_BYTES), limit - reserved));
+    }
+
+    /**
+     * Returns the memory reserved beyond the body's size once it is fully encoded.
+     */
+    void trimReservation() {
+        long surplus = reserved - Math.min(buffer.size(), reserved);
+        if (bufferPool != null && surplus > 0) {
+            reserved -= surplus;
+            bufferPool.release(surplus);
+        }
+    }
+
+    @Override
+    public MediaType contentType() {
+        return mediaType;
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.size();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        try (Buffer.UnsafeCursor cursor = buffer.readUnsafe()) {
+            for (int length = cursor.seek(0); length != -1; length = cursor.next()) {
+                sink.write(cursor.data, cursor.start, length);
+            }
+        }
+    }
+
+    /**
+     * Returns the body's segments to the pool and releases its buffer memory. The body must not be written
+     * afterwards.
+     */
+    void release() {
+        buffer.clear();
+        if (bufferPool != null && reserved > 0) {
+            bufferPool.release(reserved);
+            reserved = 0;
+        }
+    }
+
+    /**
+     * Thrown by the body's sink when buffer memory could not be reserved within the maximum block time.
+     */
+    static final class BufferExhaustedException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private BufferExhaustedException(HttpClientException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
@@ -38,7 +38,8 @@ public class RetryInterceptor implements Interceptor {
         for (int attempt = 1; attempt <= maxRetries + 1; attempt++) {
             try {
                 Response response = chain.proceed(request);
-                if (response.isSuccessful()) {
+                if (response.isSuccessful() || attempt == maxRetries + 1) {
+                    // The last failed response is returned, so callers see its status code
                     return response;
                 } else {
                     LOG.warn("Request failed with status code {}, attempt {}/{}", response.code(), attempt, maxRetries + 1);
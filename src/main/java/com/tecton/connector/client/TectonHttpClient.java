@@ -6,17 +6,23 @@ import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.tecton.connector.error.HttpClientException;
+import com.tecton.connector.metrics.FreshnessMetrics;
+import com.tecton.connector.metrics.IngestMetricsCounters;
+import com.tecton.connector.metrics.ThroughputReporter;
 import com.tecton.connector.model.TectonApiError;
 import com.tecton.connector.model.TectonApiRequest;
 import com.tecton.connector.model.TectonApiResponse;
 import com.tecton.connector.util.JsonUtil;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.Interceptor;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.GzipSink;
+import okio.Okio;
+import org.apache.kafka.connect.errors.RetriableException;
 
 /**
  * Implementation of HttpClient using OkHttp.
@@ -24,18 +30,45 @@ import okhttp3.Response;
 public class TectonHttpClient implements HttpClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(TectonHttpClient.class);
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.get("application/json");
 
     private final OkHttpClient client;
     private final String clusterEndpoint;
     private final String authToken;
     private final boolean loggingEventDataEnabled;
+    private final BufferPool bufferPool;
+    private final FreshnessMetrics freshnessMetrics;
+    private final IngestMetricsCounters ingestMetrics;
+    private final ResponseMode responseMode;
+    private final ThroughputReporter throughputReporter;
+    private volatile boolean compressionEnabled = false;
     private volatile boolean isClosed = false;
 
     private TectonHttpClient(Builder builder) {
-        this.client = builder.client;
+        OkHttpClient.Builder clientBuilder = builder.client.newBuilder();
+        // First, so it runs once the dispatcher starts the call and before any retries
+        clientBuilder.interceptors().add(0, TectonHttpClient::startTimer);
+        this.client = clientBuilder.build();
         this.clusterEndpoint = builder.clusterEndpoint;
         this.authToken = builder.authToken;
         this.loggingEventDataEnabled = builder.loggingEventDataEnabled;
+        this.bufferPool = builder.bufferPool;
+        this.freshnessMetrics = builder.freshnessMetrics;
+        this.ingestMetrics = builder.ingestMetrics;
+        this.responseMode = builder.responseMode;
+        this.throughputReporter = builder.throughputReporter;
+    }
+
+    /**
+     * How the bodies of success responses are handled. Error bodies are always fully parsed.
+     */
+    public enum ResponseMode {
+        /** Reads the whole body and binds it to a {@link TectonApiResponse}. */
+        FULL,
+        /** Parses only the ingest counts as the body arrives, or discards it if they are not recorded. A body that cannot be read is logged, not failed. */
+        STREAM,
+        /** Discards the body unread. */
+        DISCARD
     }
 
     public static class Builder {
@@ -43,6 +76,11 @@ public class TectonHttpClient implements HttpClient {
         private String clusterEndpoint;
         private String authToken;
         private boolean loggingEventDataEnabled;
+        private BufferPool bufferPool;
+        private FreshnessMetrics freshnessMetrics;
+        private IngestMetricsCounters ingestMetrics;
+        private ResponseMode responseMode = ResponseMode.STREAM;
+        private ThroughputReporter throughputReporter;
 
         public Builder client(OkHttpClient client) {
             this.client = client;
@@ -64,6 +102,31 @@ public class TectonHttpClient implements HttpClient {
             return this;
         }
 
+        public Builder bufferPool(BufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
+
+        public Builder freshnessMetrics(FreshnessMetrics freshnessMetrics) {
+            this.freshnessMetrics = freshnessMetrics;
+            return this;
+        }
+
+        public Builder ingestMetrics(IngestMetricsCounters ingestMetrics) {
+            this.ingestMetrics = ingestMetrics;
+            return this;
+        }
+
+        public Builder responseMode(ResponseMode responseMode) {
+            this.responseMode = Objects.requireNonNull(responseMode, "Response mode cannot be null");
+            return this;
+        }
+
+        public Builder throughputReporter(ThroughputReporter throughputReporter) {
+            this.throughputReporter = throughputReporter;
+            return this;
+        }
+
         public TectonHttpClient build() {
             Objects.requireNonNull(client, "OkHttpClient cannot be null");
             Objects.requireNonNull(clusterEndpoint, "Cluster endpoint cannot be null");
@@ -77,9 +140,17 @@ public class TectonHttpClient implements HttpClient {
         ensureNotClosed();
         Request httpRequest = buildHttpRequest(request);
         try (Response response = client.newCall(httpRequest).execute()) {
-            return handleResponse(response);
+            TectonApiResponse apiResponse = handleResponse(response);
+            recordSuccess(request, httpRequest);
+            return apiResponse;
         } catch (IOException e) {
+            recordFailure();
             throw new HttpClientException("Error during HTTP request execution", e);
+        } catch (HttpClientException e) {
+            recordFailure();
+            throw e;
+        } finally {
+            release(httpRequest);
         }
     }
 
@@ -98,52 +169,133 @@ public class TectonHttpClient implements HttpClient {
         client.newCall(httpRequest).enqueue(new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
+                recordFailure();
+                release(httpRequest);
                 future.completeExceptionally(new HttpClientException("Error during asynchronous HTTP request", e));
             }
 
             @Override
             public void onResponse(Call call, Response response) {
+                TectonApiResponse apiResponse;
                 try {
-                    TectonApiResponse apiResponse = handleResponse(response);
-                    future.complete(apiResponse);
+                    apiResponse = handleResponse(response);
+                    recordSuccess(request, httpRequest);
                 } catch (Exception e) {
+                    recordFailure();
                     future.completeExceptionally(e);
+                    return;
+                } finally {
+                    // Also discards the body if it was not read, returning the connection to the pool before
+                    // the caller sends its next request
+                    response.close();
+                    release(httpRequest);
                 }
+                future.complete(apiResponse);
             }
         });
         return future;
     }
 
     private Request buildHttpRequest(TectonApiRequest request) throws HttpClientException {
+        // Encoded straight into pooled segments, so no String or body-sized array is allocated
+        PooledRequestBody body = new PooledRequestBody(JSON_MEDIA_TYPE, bufferPool);
+        boolean gzip = compressionEnabled;
         try {
             String url = clusterEndpoint + "/ingest";
-            String jsonBody = JsonUtil.toJson(request);
-            if (loggingEventDataEnabled) {
-                LOG.debug("Sending request to URL: {} with body: {}", url, jsonBody);
+            // The stream is closed once the request is written, which also completes the gzip trailer
+            JsonUtil.writeJson(Okio.buffer(gzip ? new GzipSink(body.sink()) : body.sink()).outputStream(), request);
+            body.trimReservation();
+            if (loggingEventDataEnabled && LOG.isDebugEnabled() && !gzip) {
+                LOG.debug("Sending request to URL: {} with body: {}", url, body.buffer().snapshot().utf8());
             } else {
                 LOG.debug("Sending request to URL: {}", url);
             }
 
-            return new Request.Builder()
+            Request.Builder builder = new Request.Builder()
                     .url(url)
-                    .post(RequestBody.create(jsonBody, MediaType.get("application/json")))
+                    .post(body)
+                    .tag(CallTimer.class, new CallTimer())
                     .addHeader("Authorization", "Tecton-key " + authToken)
-                    .addHeader("Content-Type", "application/json")
-                    .build();
+                    .addHeader("Content-Type", "application/json");
+            if (gzip) {
+                builder.addHeader("Content-Encoding", "gzip");
+            }
+            return builder.build();
+        } catch (PooledRequestBody.BufferExhaustedException e) {
+            body.release();
+            // Blocks the caller while queued and in-flight bodies fill the buffer. If they still do after the
+            // maximum block time, put() fails with a retriable error so the records are delivered again, rather
+            // than the batch failing like a rejected request and being dropped or spilled
+            throw new RetriableException(e.getMessage(), e.getCause());
         } catch (Exception e) {
+            body.release();
             throw new HttpClientException("Error building HTTP request", e);
         }
     }
 
+    /**
+     * Releases the body's segments and buffer memory once its call, retries included, is complete.
+     */
+    private static void release(Request httpRequest) {
+        ((PooledRequestBody) httpRequest.body()).release();
+    }
+
+    /**
+     * The time a call was started by the dispatcher, so the latency of an asynchronous request excludes the
+     * time it waited behind the concurrency limit.
+     */
+    private static final class CallTimer {
+        private volatile long startNanos;
+    }
+
+    private static Response startTimer(Interceptor.Chain chain) throws IOException {
+        CallTimer timer = chain.request().tag(CallTimer.class);
+        if (timer != null) {
+            timer.startNanos = System.nanoTime();
+        }
+        return chain.proceed(chain.request());
+    }
+
+    /**
+     * Records an acknowledged request, before its body is released.
+     */
+    private void recordSuccess(TectonApiRequest request, Request httpRequest) {
+        if (freshnessMetrics != null) {
+            freshnessMetrics.record(request);
+        }
+        if (throughputReporter != null) {
+            throughputReporter.recordRequest(request.getRecordCount(),
+                    ((PooledRequestBody) httpRequest.body()).contentLength(),
+                    System.nanoTime() - httpRequest.tag(CallTimer.class).startNanos);
+        }
+    }
+
+    private void recordFailure() {
+        if (throughputReporter != null) {
+            throughputReporter.recordFailure();
+        }
+    }
+
     private TectonApiResponse handleResponse(Response response) throws HttpClientException {
         int statusCode = response.code();
         String responseBody;
 
         try {
+            if (response.isSuccessful() && responseMode != ResponseMode.FULL) {
+                if (responseMode == ResponseMode.STREAM && ingestMetrics != null && response.body() != null) {
+                    recordIngestMetrics(response);
+                }
+                // Otherwise nothing uses the body, so it is discarded unread when the response is closed
+                return null;
+            }
             responseBody = response.body() != null ? response.body().string() : null;
 
             if (response.isSuccessful()) {
-                return JsonUtil.fromJson(responseBody, TectonApiResponse.class);
+                TectonApiResponse apiResponse = JsonUtil.fromJson(responseBody, TectonApiResponse.class);
+                if (ingestMetrics != null) {
+                    ingestMetrics.record(apiResponse);
+                }
+                return apiResponse;
             } else {
                 if (responseBody != null) {
                     TectonApiError apiError = JsonUtil.fromJson(responseBody, TectonApiError.class);
@@ -159,6 +311,30 @@ public class TectonHttpClient implements HttpClient {
         }
     }
 
+    /**
+     * Counts the ingest metrics of a success response as it is read. Tecton has already acknowledged the
+     * records, so a body that cannot be read only loses its counts rather than failing the request.
+     */
+    private void recordIngestMetrics(Response response) {
+        try {
+            ingestMetrics.record(response.body().byteStream());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable ingest metrics in a success response: {}", e.getMessage());
+            LOG.debug("Unreadable ingest metrics", e);
+        }
+    }
+
+    @Override
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        client.dispatcher().setMaxRequests(concurrencyLimit);
+        client.dispatcher().setMaxRequestsPerHost(concurrencyLimit);
+    }
+
+    @Override
+    public void setCompressionEnabled(boolean enabled) {
+        this.compressionEnabled = enabled;
+    }
+
     private void ensureNotClosed() {
         if (isClosed) {
             throw new IllegalStateException("HttpClient has been closed");
@@ -0,0 +1,111 @@
+package com.tecton.connector.converter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts the compaction key of a record while it is converted: the values of its compaction key fields,
+ * as sent to Tecton, so records never need to be parsed again to be compacted.
+ * <p>
+ * Values are compared as text, with numbers normalised, so the same entity is found whether its key was
+ * written as {@code 1}, {@code 1.0} or {@code "1"}, or held as an Integer or a Long. Only scalar values
+ * form keys.
+ */
+final class CompactionKeys {
+
+    // Beyond this exponent numbers are written in scientific notation, so a key like 1e999999999 stays short
+    private static final int MAX_PLAIN_EXPONENT = 64;
+
+    private CompactionKeys() {
+    }
+
+    /**
+     * Returns the compaction key of materialized record data.
+     *
+     * @param data   The record data, as sent to Tecton.
+     * @param fields The compaction key fields.
+     * @return The text of each key field, or null if the record has none of them.
+     */
+    static List<String> of(Map<String, Object> data, List<String> fields) {
+        String[] values = new String[fields.size()];
+        boolean present = false;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = text(data.get(fields.get(i)));
+            present |= values[i] != null;
+        }
+        return present ? Arrays.asList(values) : null;
+    }
+
+    /**
+     * Returns the key text of a value, or null if it is not a scalar.
+     *
+     * @param value The value.
+     * @return The normalised text.
+     */
+    static String text(Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return value.toString();
+        }
+        if (value instanceof BigInteger) {
+            return numberText(value.toString());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            // Float.toString keeps the shortest decimal form, unlike widening the float to a double
+            return Double.isNaN(number) || Double.isInfinite(number) ? value.toString() : numberText(value.toString());
+        }
+        if (value instanceof BigDecimal) {
+            return decimalText((BigDecimal) value);
+        }
+        if (value instanceof Number) {
+            return numberText(value.toString());
+        }
+        return null;
+    }
+
+    /**
+     * Normalises the text of a number, so that equal numbers written differently share their text.
+     *
+     * @param number The text of a JSON number.
+     * @return The normalised text.
+     */
+    static String numberText(String number) {
+        int trailingZeros = 0;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                trailingZeros = -1;
+                break;
+            }
+            trailingZeros = c == '0' ? trailingZeros + 1 : 0;
+        }
+        if (trailingZeros >= 0 && trailingZeros <= MAX_PLAIN_EXPONENT) {
+            // Integers are already in their normalised form
+            return number;
+        }
+        try {
+            return decimalText(new BigDecimal(number));
+        } catch (NumberFormatException e) {
+            // The exponent does not fit in an int, so the number is compared as written
+            return number;
+        }
+    }
+
+    /**
+     * Returns the text of a decimal without trailing zeros: plain when its exponent is small, otherwise in
+     * scientific notation, since a plain form would hold as many digits as the exponent.
+     */
+    private static String decimalText(BigDecimal decimal) {
+        BigDecimal stripped = decimal.stripTrailingZeros();
+        return Math.abs(stripped.scale()) <= MAX_PLAIN_EXPONENT ? stripped.toPlainString() : stripped.toString();
+    }
+}
@@ -0,0 +1,325 @@
+package com.tecton.connector.converter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import com.tecton.connector.model.KafkaMetadata;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Route;
+import com.tecton.connector.routing.Router;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+/**
+ * Chooses the converter for each topic on its first record and reuses it for the following ones.
+ * <p>
+ * A topic's value type (and schema) rarely changes, so the type dispatch runs once per topic instead of
+ * once per record, and the field plan of the topic's push source and the Struct schema are compiled once.
+ * When a value no longer matches its topic's converter, e.g. after a schema change, the topic is
+ * specialized again. Converters also extract the value of the topic route's routing field and the event
+ * time of records whose push source has a maximum event age, if any, while converting, so records can be
+ * routed by content and skipped for their age without being parsed twice.
+ */
+final class ConverterRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConverterRegistry.class);
+    private static final String METRIC_GROUP = "conversion-metrics";
+
+    private final StreamingJsonConverter streamingConverter;
+    private final StructConverter structConverter;
+    private final MapConverter mapConverter;
+    private final TectonHttpSinkConnectorConfig config;
+    private final FieldNameInterner interner;
+    private final KeySanitiser keySanitiser;
+    private final ConnectorMetrics metrics;
+    private final Router router;
+    private final ConcurrentMap<String, ValueConverter> converters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, FieldPlan> fieldPlans = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a ConverterRegistry.
+     *
+     * @param config             The connector configuration.
+     * @param streamingConverter The converter for serialized JSON values.
+     * @param structConverter    The converter for Struct values.
+     * @param mapConverter       The converter for Map values that need copying.
+     * @param interner           The interner used to canonicalize renamed fields.
+     * @param keySanitiser       The sanitiser applied to record keys, or null to keep them.
+     * @param metrics            The metrics of the task.
+     * @param router             The router resolving the push source of each topic.
+     */
+    ConverterRegistry(TectonHttpSinkConnectorConfig config, StreamingJsonConverter streamingConverter,
+                      StructConverter structConverter, MapConverter mapConverter, FieldNameInterner interner,
+                      KeySanitiser keySanitiser, ConnectorMetrics metrics, Router router) {
+        this.config = config;
+        this.streamingConverter = streamingConverter;
+        this.structConverter = structConverter;
+        this.mapConverter = mapConverter;
+        this.interner = interner;
+        this.keySanitiser = keySanitiser;
+        this.metrics = metrics;
+        this.router = router;
+    }
+
+    /**
+     * Returns the converter for a record value, specializing the topic if needed.
+     *
+     * @param topic The topic the record was read from.
+     * @param value The record value.
+     * @return A converter that accepts the value.
+     * @throws InvalidRecordException If the value type is not supported.
+     */
+    ValueConverter converterFor(String topic, Object value) throws InvalidRecordException {
+        ValueConverter converter = converters.get(topic);
+        if (converter != null && converter.accepts(value)) {
+            return converter;
+        }
+        Route route = router.route(topic);
+        converter = specialize(value, fieldPlan(topic), route.getRoutingField(), eventTimeField(route.getPushSource()));
+        converters.put(topic, converter);
+        LOG.debug("Using {} for topic {}", converter, topic);
+        return converter;
+    }
+
+    /**
+     * Returns the event time field of a push source, or null if its records are never skipped for their age
+     * or their Kafka timestamp is used.
+     */
+    private String eventTimeField(String pushSource) {
+        return config.maxEventAgeMs(pushSource) > 0 ? config.eventTimeField(pushSource) : null;
+    }
+
+    private FieldPlan fieldPlan(String topic) {
+        return fieldPlans.computeIfAbsent(router.route(topic).getPushSource(), this::compileFieldPlan);
+    }
+
+    private FieldPlan compileFieldPlan(String pushSource) {
+        FieldPlan.Builder builder = new FieldPlan.Builder()
+                .include(config.fieldsInclude(pushSource))
+                .rename(config.fieldsRename(pushSource))
+                .names(interner, keySanitiser);
+        if (config.flattenEnabled) {
+            builder.flatten(config.flattenDelimiter, config.fieldNameCacheSize);
+        }
+        boolean omitNulls = config.omitNullFields(pushSource);
+        boolean omitDefaults = config.omitDefaultFields(pushSource);
+        if (omitNulls || omitDefaults) {
+            Map<String, String> tags = Collections.singletonMap("push-source", pushSource);
+            builder.omit(omitNulls, omitDefaults,
+                    metrics.counter(metrics.metricName("omitted-fields-total", METRIC_GROUP,
+                            "The number of null or default fields left out of records", tags)),
+                    metrics.counter(metrics.metricName("omitted-bytes-total", METRIC_GROUP,
+                            "The estimated number of request body bytes saved by leaving out fields", tags)));
+        }
+        return builder.build();
+    }
+
+    private ValueConverter specialize(Object value, FieldPlan plan, String routingField, String eventTimeField)
+            throws InvalidRecordException {
+        if (value instanceof String) {
+            return new StringValueConverter(plan, routingField, eventTimeField);
+        }
+        if (value instanceof byte[]) {
+            return new BytesValueConverter(plan, routingField, eventTimeField);
+        }
+        if (value instanceof Struct) {
+            Schema schema = ((Struct) value).schema();
+            return new StructValueConverter(structConverter.compile(schema, plan),
+                    routingField == null ? null : schema.field(routingField),
+                    eventTimeField == null ? null : schema.field(eventTimeField));
+        }
+        if (value instanceof Map) {
+            return plan.isIdentity()
+                    ? new MapPassthroughValueConverter(routingField, eventTimeField)
+                    : new MapCopyValueConverter(plan, routingField, eventTimeField);
+        }
+        throw new InvalidRecordException("Unsupported record value type: "
+                + (value == null ? "null" : value.getClass().getName()));
+    }
+
+    /**
+     * Returns the routing value of a field value: its text if it is a scalar, null otherwise.
+     */
+    private static String routingValue(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean
+                ? value.toString() : null;
+    }
+
+    private final class StringValueConverter implements ValueConverter {
+
+        private final FieldPlan plan;
+        private final String routingField;
+        private final String eventTimeField;
+
+        private StringValueConverter(FieldPlan plan, String routingField, String eventTimeField) {
+            this.plan = plan;
+            this.routingField = routingField;
+            this.eventTimeField = eventTimeField;
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof String;
+        }
+
+        @Override
+        public TectonRecord convert(Object value, KafkaMetadata metadata) throws InvalidRecordException, IOException {
+            byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+            return streamingConverter.convert(utf8, plan, routingField, eventTimeField, metadata);
+        }
+
+        @Override
+        public String toString() {
+            return "String streaming converter";
+        }
+    }
+
+    private final class BytesValueConverter implements ValueConverter {
+
+        private final FieldPlan plan;
+        private final String routingField;
+        private final String eventTimeField;
+
+        private BytesValueConverter(FieldPlan plan, String routingField, String eventTimeField) {
+            this.plan = plan;
+            this.routingField = routingField;
+            this.eventTimeField = eventTimeField;
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof byte[];
+        }
+
+        @Override
+        public TectonRecord convert(Object value, KafkaMetadata metadata) throws InvalidRecordException, IOException {
+            // As delivered by ByteArrayConverter: validated in place, never decoded into a String
+            return streamingConverter.convert((byte[]) value, plan, routingField, eventTimeField, metadata);
+        }
+
+        @Override
+        public String toString() {
+            return "byte[] streaming converter";
+        }
+    }
+
+    private final class StructValueConverter implements ValueConverter {
+
+        private final StructConverter.Plan plan;
+        private final Field routingField;
+        private final Field eventTimeField;
+
+        private StructValueConverter(StructConverter.Plan plan, Field routingField, Field eventTimeField) {
+            this.plan = plan;
+            this.routingField = routingField;
+            this.eventTimeField = eventTimeField;
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof Struct && plan.appliesTo(((Struct) value).schema());
+        }
+
+        @Override
+        public TectonRecord convert(Object value, KafkaMetadata metadata) throws InvalidRecordException {
+            // Limits are enforced while the Struct is converted
+            Struct struct = (Struct) value;
+            TectonRecord tectonRecord = new TectonRecord(structConverter.convert(struct, plan), metadata);
+            if (routingField != null) {
+                tectonRecord.setRoutingValue(routingValue(struct.get(routingField)));
+            }
+            if (eventTimeField != null) {
+                tectonRecord.setEventTime(EventTimes.of(struct.get(eventTimeField)));
+            }
+            return tectonRecord;
+        }
+
+        @Override
+        public String toString() {
+            return "compiled Struct converter";
+        }
+    }
+
+    private final class MapCopyValueConverter implements ValueConverter {
+
+        private final FieldPlan plan;
+        private final String routingField;
+        private final String eventTimeField;
+
+        private MapCopyValueConverter(FieldPlan plan, String routingField, String eventTimeField) {
+            this.plan = plan;
+            this.routingField = routingField;
+            this.eventTimeField = eventTimeField;
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof Map;
+        }
+
+        @Override
+        public TectonRecord convert(Object value, KafkaMetadata metadata) throws InvalidRecordException {
+            TectonRecord tectonRecord = new TectonRecord(mapConverter.convert((Map<?, ?>) value, plan), metadata);
+            if (routingField != null) {
+                tectonRecord.setRoutingValue(routingValue(((Map<?, ?>) value).get(routingField)));
+            }
+            if (eventTimeField != null) {
+                tectonRecord.setEventTime(EventTimes.of(((Map<?, ?>) value).get(eventTimeField)));
+            }
+            return tectonRecord;
+        }
+
+        @Override
+        public String toString() {
+            return "Map copying converter";
+        }
+    }
+
+    private final class MapPassthroughValueConverter implements ValueConverter {
+
+        private final String routingField;
+        private final String eventTimeField;
+
+        private MapPassthroughValueConverter(String routingField, String eventTimeField) {
+            this.routingField = routingField;
+            this.eventTimeField = eventTimeField;
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof Map;
+        }
+
+        @Override
+        public TectonRecord convert(Object value, KafkaMetadata metadata) throws InvalidRecordException {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> recordData = (Map<String, Object>) value;
+            TectonRecord tectonRecord = new TectonRecord(recordData, metadata);
+            if (!tectonRecord.isValid(config.recordMaxDepth, config.recordMaxValues)) {
+                throw new InvalidRecordException("Record contains unsupported value types or exceeds the maximum depth of "
+                        + config.recordMaxDepth + " or the maximum of " + config.recordMaxValues + " values");
+            }
+            if (routingField != null) {
+                tectonRecord.setRoutingValue(routingValue(recordData.get(routingField)));
+            }
+            if (eventTimeField != null) {
+                tectonRecord.setEventTime(EventTimes.of(recordData.get(eventTimeField)));
+            }
+            return tectonRecord;
+        }
+
+        @Override
+        public String toString() {
+            return "Map passthrough converter";
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.tecton.connector.converter;
+
+/**
+ * The ways a Connect Decimal value can be written to a Tecton record.
+ */
+public enum DecimalEncoding {
+
+    /** A JSON number, e.g. {@code 12.50}. */
+    NUMERIC,
+
+    /** A plain decimal string, e.g. {@code "12.50"}. */
+    STRING,
+
+    /** The base64 encoded unscaled bytes, as written by Connect's JsonConverter. */
+    BASE64
+}
@@ -0,0 +1,74 @@
+package com.tecton.connector.converter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.InputCoercionException;
+
+/**
+ * Extracts the event time of a record while it is converted, from the event time field of its push
+ * source, so records never need to be parsed again to check their age.
+ * <p>
+ * Event times are epoch milliseconds, ISO-8601 strings with an offset, or Connect Timestamps. Any other
+ * value, or one out of range, is unreadable and leaves the record without an event time.
+ */
+final class EventTimes {
+
+    private EventTimes() {
+    }
+
+    /**
+     * Returns the event time held by a field value of materialized record data.
+     *
+     * @param value The field value.
+     * @return The event time in epoch milliseconds, or null if the value is missing or unreadable.
+     */
+    static Long of(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            return parse((String) value);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the event time held by the current token of a parser.
+     *
+     * @param token  The current token.
+     * @param parser The parser.
+     * @return The event time in epoch milliseconds, or null if the value is unreadable.
+     * @throws IOException If the value cannot be read.
+     */
+    static Long of(JsonToken token, JsonParser parser) throws IOException {
+        switch (token) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                try {
+                    return parser.getLongValue();
+                } catch (InputCoercionException e) {
+                    return null;
+                }
+            case VALUE_STRING:
+                return parse(parser.getText());
+            default:
+                return null;
+        }
+    }
+
+    private static Long parse(String text) {
+        try {
+            return Instant.from(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(text)).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.tecton.connector.converter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonicalizes field names so records held in memory at the same time share one String instance per
+ * distinct name instead of each carrying its own copy.
+ * <p>
+ * Unlike {@link String#intern()}, the table belongs to a single task and is bounded: once full, unseen
+ * names are returned as-is, so unbounded key sets (e.g. IDs used as map keys) cannot grow it without limit.
+ */
+final class FieldNameInterner {
+
+    private final int maxSize;
+    private final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a FieldNameInterner.
+     *
+     * @param maxSize The maximum number of distinct names to hold.
+     */
+    FieldNameInterner(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the canonical instance of a field name.
+     *
+     * @param name The field name.
+     * @return The canonical instance, or the name itself if it is not in the table and the table is full.
+     */
+    String intern(String name) {
+        String canonical = names.get(name);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (names.size() >= maxSize) {
+            return name;
+        }
+        canonical = names.putIfAbsent(name, name);
+        return canonical != null ? canonical : name;
+    }
+}
@@ -0,0 +1,250 @@
+package com.tecton.connector.converter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The projection, renaming, flattening and omission of fields for one push source, compiled once from the
+ * configuration and applied by every converter while it walks a record.
+ * <p>
+ * Fields that are not projected are skipped before their values are converted. Renamed fields are
+ * written under their new name as-is; all other names are sanitised when key sanitisation is enabled.
+ * Records in which two keys of an object end up with the same name are rejected by the converters.
+ * When flattening, the fields of nested objects are written into the record under their joined path, e.g.
+ * {@code a.b.c} as {@code a_b_c}; joined names are cached per parent path, so each path is built once.
+ * Fields with null (or default) values can be left out of objects at any level, though not array elements.
+ */
+final class FieldPlan {
+
+    private final Set<String> include;
+    private final Map<String, String> rename;
+    private final KeySanitiser keySanitiser;
+    private final FieldNameInterner interner;
+    private final String flattenDelimiter;
+    private final int maxPaths;
+    private final boolean omitNulls;
+    private final boolean omitDefaults;
+    private final LongAdder omittedFields;
+    private final LongAdder omittedBytes;
+    private final AtomicInteger pathCount = new AtomicInteger();
+    private final ConcurrentMap<String, ConcurrentMap<String, String>> paths = new ConcurrentHashMap<>();
+
+    private FieldPlan(Builder builder) {
+        Map<String, String> renamed = new HashMap<>();
+        for (Map.Entry<String, String> entry : builder.rename.entrySet()) {
+            renamed.put(entry.getKey(), builder.interner.intern(entry.getValue()));
+        }
+        this.include = builder.include.isEmpty() ? null : new HashSet<>(builder.include);
+        this.rename = renamed;
+        this.keySanitiser = builder.keySanitiser;
+        this.interner = builder.interner;
+        this.flattenDelimiter = builder.flattenDelimiter;
+        this.maxPaths = builder.maxPaths;
+        this.omitNulls = builder.omitNulls;
+        this.omitDefaults = builder.omitDefaults;
+        this.omittedFields = builder.omittedFields;
+        this.omittedBytes = builder.omittedBytes;
+    }
+
+    /**
+     * Returns whether the plan leaves records unchanged, so they can be passed through.
+     */
+    boolean isIdentity() {
+        return include == null && rename.isEmpty() && keySanitiser == null && flattenDelimiter == null && !omitNulls;
+    }
+
+    /**
+     * Returns whether keys may be written under another name, so two keys of an object can end up with
+     * the same name. Flattened fields are always written under their joined path, which may equal a key
+     * of the record itself, e.g. {@code a.b} and {@code a_b}.
+     */
+    boolean isRewritingNames() {
+        return keySanitiser != null || !rename.isEmpty() || flattenDelimiter != null;
+    }
+
+    /**
+     * Returns whether fields with null values are left out.
+     */
+    boolean isOmittingNulls() {
+        return omitNulls;
+    }
+
+    /**
+     * Returns whether Struct fields equal to their schema default are left out.
+     */
+    boolean isOmittingDefaults() {
+        return omitDefaults;
+    }
+
+    /**
+     * Records a field left out of a record, with an estimate of the bytes it would have taken in the body.
+     *
+     * @param name  The output name of the field.
+     * @param value The value of the field.
+     */
+    void omitted(String name, Object value) {
+        omittedFields.increment();
+        // "name":value, (assuming single-byte characters)
+        int valueLength = value == null ? 4 : value instanceof String ? ((String) value).length() + 2
+                : String.valueOf(value).length();
+        omittedBytes.add(name.length() + 4 + valueLength);
+    }
+
+    /**
+     * Returns whether nested objects are merged into the record.
+     */
+    boolean isFlattening() {
+        return flattenDelimiter != null;
+    }
+
+    /**
+     * Returns the name a top-level field is written under.
+     *
+     * @param name The original field name.
+     * @return The output name, or null if the field is not projected.
+     */
+    String fieldName(String name) {
+        if (include != null && !include.contains(name)) {
+            return null;
+        }
+        String renamed = rename.get(name);
+        if (renamed != null) {
+            return renamed;
+        }
+        return nestedName(name);
+    }
+
+    /**
+     * Returns the name a key below the top level is written under.
+     *
+     * @param name The original key.
+     * @return The output name.
+     */
+    String nestedName(String name) {
+        return keySanitiser == null ? name : keySanitiser.sanitise(name);
+    }
+
+    /**
+     * Returns the name a field of a flattened object is written under.
+     *
+     * @param parent The output name of the flattened object.
+     * @param name   The original field name.
+     * @return The joined output name.
+     */
+    String flattenedName(String parent, String name) {
+        ConcurrentMap<String, String> children = paths.get(parent);
+        String joined = children != null ? children.get(name) : null;
+        if (joined != null) {
+            return joined;
+        }
+        joined = interner.intern(parent + flattenDelimiter + nestedName(name));
+        // Once full, paths are still joined but no longer cached, so the cache cannot grow unbounded
+        if (pathCount.get() < maxPaths) {
+            if (children == null) {
+                children = paths.computeIfAbsent(parent, key -> new ConcurrentHashMap<>());
+            }
+            if (children.putIfAbsent(name, joined) == null) {
+                pathCount.incrementAndGet();
+            }
+        }
+        return joined;
+    }
+
+    /**
+     * Builder for {@link FieldPlan}.
+     */
+    static class Builder {
+        private List<String> include = Collections.emptyList();
+        private Map<String, String> rename = Collections.emptyMap();
+        private FieldNameInterner interner;
+        private KeySanitiser keySanitiser;
+        private String flattenDelimiter;
+        private int maxPaths;
+        private boolean omitNulls;
+        private boolean omitDefaults;
+        private LongAdder omittedFields = new LongAdder();
+        private LongAdder omittedBytes = new LongAdder();
+
+        /**
+         * Keeps only the given top-level fields.
+         *
+         * @param include the fields to keep, or an empty list to keep every field.
+         * @return this builder.
+         */
+        Builder include(List<String> include) {
+            this.include = include;
+            return this;
+        }
+
+        /**
+         * Renames top-level fields.
+         *
+         * @param rename the new names, keyed by original name.
+         * @return this builder.
+         */
+        Builder rename(Map<String, String> rename) {
+            this.rename = rename;
+            return this;
+        }
+
+        /**
+         * Sets how names are canonicalized and sanitised.
+         *
+         * @param interner     the interner used to canonicalize renamed fields and flattened paths.
+         * @param keySanitiser the sanitiser applied to every other key, or null to keep them.
+         * @return this builder.
+         */
+        Builder names(FieldNameInterner interner, KeySanitiser keySanitiser) {
+            this.interner = interner;
+            this.keySanitiser = keySanitiser;
+            return this;
+        }
+
+        /**
+         * Merges nested objects into the record.
+         *
+         * @param delimiter the delimiter joining flattened paths.
+         * @param maxPaths  the maximum number of flattened paths to cache.
+         * @return this builder.
+         */
+        Builder flatten(String delimiter, int maxPaths) {
+            this.flattenDelimiter = delimiter;
+            this.maxPaths = maxPaths;
+            return this;
+        }
+
+        /**
+         * Leaves out fields with null values, and optionally Struct fields equal to their schema default.
+         *
+         * @param omitNulls     whether to leave out null fields.
+         * @param omitDefaults  whether to leave out default fields.
+         * @param omittedFields the counter of fields left out.
+         * @param omittedBytes  the counter of the estimated bytes saved.
+         * @return this builder.
+         */
+        Builder omit(boolean omitNulls, boolean omitDefaults, LongAdder omittedFields, LongAdder omittedBytes) {
+            this.omitNulls = omitNulls;
+            this.omitDefaults = omitDefaults;
+            this.omittedFields = omittedFields;
+            this.omittedBytes = omittedBytes;
+            return this;
+        }
+
+        /**
+         * Compiles the plan.
+         *
+         * @return a new instance of {@link FieldPlan}.
+         */
+        FieldPlan build() {
+            return new FieldPlan(this);
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package com.tecton.connector.converter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tecton.connector.error.InvalidRecordException;
 import com.tecton.connector.error.SerializationException;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import com.tecton.connector.model.KafkaMetadata;
 import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Router;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
 
-import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.DataException;
-import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Implementation of RecordConverter that converts SinkRecords into TectonRecords using JSON serialization.
@@ -25,43 +28,94 @@ public class JsonRecordConverter implements RecordConverter {
     private static final Logger LOG = LoggerFactory.getLogger(JsonRecordConverter.class);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
-    // Thread-local instance of JsonConverter for thread safety
-    private static final ThreadLocal<JsonConverter> JSON_CONVERTER = ThreadLocal.withInitial(() -> {
-        JsonConverter converter = new JsonConverter();
-        converter.configure(Map.of("schemas.enable", "false"), false);
-        return converter;
-    });
+    private final StructConverter structConverter;
+    private final ConverterRegistry registry;
+    private final boolean kafkaTimestampEnabled;
+    private final boolean kafkaKeyEnabled;
+    private final boolean kafkaHeadersEnabled;
+    private final boolean timestampAsRfc3339;
+    private final List<String> compactionKeyFields;
+
+    /**
+     * Constructs a JsonRecordConverter.
+     *
+     * @param config  The connector configuration.
+     * @param metrics The metrics of the task.
+     * @param router  The router resolving the push source of each topic.
+     */
+    public JsonRecordConverter(TectonHttpSinkConnectorConfig config, ConnectorMetrics metrics, Router router) {
+        int maxDepth = config.recordMaxDepth;
+        int maxValues = config.recordMaxValues;
+        // Per task, since each task owns its converter; names parsed by Jackson are already canonicalized
+        // by its own symbol table, so only names from Connect data and rewritten keys go through this
+        FieldNameInterner interner = new FieldNameInterner(config.fieldNameCacheSize);
+        KeySanitiser keySanitiser = config.kafkaSanitiseKeysEnabled
+                ? new KeySanitiser(config.fieldNameCacheSize, interner)
+                : null;
+        this.compactionKeyFields = config.compactionEnabled ? config.compactionKeyFields : Collections.emptyList();
+        this.structConverter = new StructConverter(config, interner, keySanitiser);
+        this.registry = new ConverterRegistry(
+                config,
+                new StreamingJsonConverter(OBJECT_MAPPER.getFactory(), maxDepth, maxValues, compactionKeyFields),
+                structConverter,
+                new MapConverter(maxDepth, maxValues),
+                interner,
+                keySanitiser,
+                metrics,
+                router);
+        this.kafkaTimestampEnabled = config.kafkaTimestampEnabled;
+        this.kafkaKeyEnabled = config.kafkaKeyEnabled;
+        this.kafkaHeadersEnabled = config.kafkaHeadersEnabled;
+        this.timestampAsRfc3339 = "RFC3339".equals(config.timestampFormat);
+    }
 
     @Override
     public TectonRecord convert(SinkRecord record) throws InvalidRecordException, SerializationException {
         Object value = record.value();
         try {
-            Map<String, Object> recordData;
-            if (value instanceof String) {
-                recordData = parseJsonString((String) value);
-            } else if (value instanceof Struct) {
-                recordData = structToMap(record.topic(), record.valueSchema(), value);
-            } else if (value instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> mapValue = (Map<String, Object>) value;
-                recordData = mapValue;
-            } else {
-                throw new InvalidRecordException("Unsupported record value type: " + value.getClass().getName());
+            KafkaMetadata metadata = kafkaMetadata(record);
+            TectonRecord tectonRecord = registry.converterFor(record.topic(), value).convert(value, metadata);
+            if (!compactionKeyFields.isEmpty() && !tectonRecord.hasRawJson()) {
+                // Serialized JSON records capture their key while they are walked
+                tectonRecord.setCompactionKey(CompactionKeys.of(tectonRecord.getRecordData(), compactionKeyFields));
             }
-            return new TectonRecord(recordData);
-        } catch (JsonProcessingException | DataException e) {
+            return tectonRecord;
+        } catch (IOException | DataException e) {
             throw new SerializationException("Failed to convert record from topic " + record.topic(), e);
         }
     }
 
-    private Map<String, Object> parseJsonString(String json) throws JsonProcessingException {
-        return OBJECT_MAPPER.readValue(json, Map.class);
+    /**
+     * Collects the enabled Kafka metadata of a record. Headers are passed through as-is and only decoded
+     * when the record is serialized.
+     */
+    private KafkaMetadata kafkaMetadata(SinkRecord record) throws InvalidRecordException {
+        if (!kafkaTimestampEnabled && !kafkaKeyEnabled && !kafkaHeadersEnabled) {
+            return null;
+        }
+        KafkaMetadata.Builder builder = new KafkaMetadata.Builder();
+        if (kafkaTimestampEnabled) {
+            builder.timestamp(record.timestamp(), timestampAsRfc3339);
+        }
+        if (kafkaKeyEnabled) {
+            builder.key(convertKey(record.key()));
+        }
+        if (kafkaHeadersEnabled && !record.headers().isEmpty()) {
+            builder.headers(record.headers());
+        }
+        return builder.build();
     }
 
-    private Map<String, Object> structToMap(String topic, Schema schema, Object struct) throws DataException, JsonProcessingException {
-        JsonConverter jsonConverter = JSON_CONVERTER.get();
-        byte[] jsonBytes = jsonConverter.fromConnectData(topic, schema, struct);
-        String jsonString = new String(jsonBytes, StandardCharsets.UTF_8);
-        return OBJECT_MAPPER.readValue(jsonString, Map.class);
+    private Object convertKey(Object key) throws InvalidRecordException {
+        if (key == null || key instanceof String || key instanceof Number || key instanceof Boolean) {
+            return key;
+        }
+        if (key instanceof Struct) {
+            return structConverter.convert((Struct) key);
+        }
+        if (key instanceof byte[] || key instanceof ByteBuffer) {
+            return StructConverter.encodeBytes(key);
+        }
+        return key.toString();
     }
 }
@@ -0,0 +1,64 @@
+package com.tecton.connector.converter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces characters that are not letters, digits or underscores in JSON keys with underscores.
+ * <p>
+ * Results are kept in a bounded cache, so each distinct key is run through the regex once rather than
+ * once per record. Every returned key is canonicalized through the task's {@link FieldNameInterner}, so
+ * records share the same String instances. Keys that need no changes skip the regex and the cache.
+ */
+final class KeySanitiser {
+
+    private static final Pattern SPECIAL_CHARACTERS = Pattern.compile("[^A-Za-z0-9_]");
+    private static final String REPLACEMENT = "_";
+
+    private final int maxCacheSize;
+    private final FieldNameInterner interner;
+    private final ConcurrentMap<String, String> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a KeySanitiser.
+     *
+     * @param maxCacheSize The maximum number of distinct keys to cache.
+     * @param interner     The interner used to canonicalize returned keys.
+     */
+    KeySanitiser(int maxCacheSize, FieldNameInterner interner) {
+        this.maxCacheSize = maxCacheSize;
+        this.interner = interner;
+    }
+
+    /**
+     * Sanitises a key.
+     *
+     * @param key The raw key.
+     * @return The sanitised key.
+     */
+    String sanitise(String key) {
+        if (!needsSanitising(key)) {
+            return interner.intern(key);
+        }
+        String sanitised = cache.get(key);
+        if (sanitised == null) {
+            sanitised = interner.intern(SPECIAL_CHARACTERS.matcher(key).replaceAll(REPLACEMENT));
+            // Once full, keys are still sanitised but no longer cached, so the cache cannot grow unbounded
+            if (cache.size() < maxCacheSize) {
+                cache.putIfAbsent(key, sanitised);
+            }
+        }
+        return sanitised;
+    }
+
+    private static boolean needsSanitising(String key) {
+        for (int i = 0, length = key.length(); i < length; i++) {
+            char c = key.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
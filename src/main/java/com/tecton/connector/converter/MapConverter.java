@@ -0,0 +1,128 @@
+package com.tecton.connector.converter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.tecton.connector.error.InvalidRecordException;
+
+/**
+ * Copies schemaless Map values into Tecton record maps, applying the field plan and validating value types
+ * and enforcing depth and value limits during the same traversal.
+ * <p>
+ * Only used when the field plan changes records; otherwise Map values are validated and passed through.
+ */
+final class MapConverter {
+
+    private final int maxDepth;
+    private final int maxValues;
+
+    /**
+     * Constructs a MapConverter.
+     *
+     * @param maxDepth  The maximum nesting depth of maps and lists, counting the record itself.
+     * @param maxValues The maximum number of values in a record.
+     */
+    MapConverter(int maxDepth, int maxValues) {
+        this.maxDepth = maxDepth;
+        this.maxValues = maxValues;
+    }
+
+    /**
+     * Converts a Map value into a record map.
+     *
+     * @param value The Map to convert.
+     * @param plan  The field plan of the record's push source.
+     * @return The record data.
+     * @throws InvalidRecordException If the value contains unsupported types or exceeds the limits.
+     */
+    Map<String, Object> convert(Map<?, ?> value, FieldPlan plan) throws InvalidRecordException {
+        int[] budget = {maxValues};
+        return convertMap(value, 1, budget, plan);
+    }
+
+    private Map<String, Object> convertMap(Map<?, ?> map, int depth, int[] budget, FieldPlan plan)
+            throws InvalidRecordException {
+        if (depth > maxDepth) {
+            throw new InvalidRecordException("Record exceeds the maximum depth of " + maxDepth);
+        }
+        Map<String, Object> result = new LinkedHashMap<>((int) (map.size() / 0.75f) + 1);
+        putEntries(map, null, result, depth, budget, plan);
+        return result;
+    }
+
+    /**
+     * Puts the converted entries of a map into the result. Nested maps are merged into the same result
+     * under prefixed names when flattening, as long as they are reached through objects only.
+     *
+     * @param prefix The output name of the flattened map, or null if the map is written as-is.
+     */
+    private void putEntries(Map<?, ?> map, String prefix, Map<String, Object> result, int depth, int[] budget,
+                            FieldPlan plan) throws InvalidRecordException {
+        boolean flattening = plan.isFlattening() && (depth == 1 || prefix != null);
+        // Keys are unique in the source map, so names can only collide once a key has been rewritten
+        boolean rewritten = false;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw new InvalidRecordException("Record contains a non-string key of type "
+                        + (entry.getKey() == null ? "null" : entry.getKey().getClass().getName()));
+            }
+            String key = (String) entry.getKey();
+            String name = prefix != null
+                    ? plan.flattenedName(prefix, key)
+                    : depth == 1 ? plan.fieldName(key) : plan.nestedName(key);
+            if (name == null) {
+                continue;
+            }
+            if (!rewritten && !name.equals(key)) {
+                rewritten = true;
+            }
+            if (rewritten && result.containsKey(name)) {
+                throw new InvalidRecordException("Record has more than one field named " + name
+                        + " once its keys are rewritten");
+            }
+            Object value = entry.getValue();
+            if (value == null && plan.isOmittingNulls()) {
+                plan.omitted(name, null);
+                continue;
+            }
+            if (flattening && value instanceof Map) {
+                if (--budget[0] < 0) {
+                    throw new InvalidRecordException("Record exceeds the maximum of " + maxValues + " values");
+                }
+                if (depth + 1 > maxDepth) {
+                    throw new InvalidRecordException("Record exceeds the maximum depth of " + maxDepth);
+                }
+                putEntries((Map<?, ?>) value, name, result, depth + 1, budget, plan);
+                // The result now holds joined names, which the keys that follow may collide with
+                rewritten = true;
+            } else {
+                result.put(name, convertValue(value, depth, budget, plan));
+            }
+        }
+    }
+
+    private Object convertValue(Object value, int depth, int[] budget, FieldPlan plan) throws InvalidRecordException {
+        if (--budget[0] < 0) {
+            throw new InvalidRecordException("Record exceeds the maximum of " + maxValues + " values");
+        }
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof List) {
+            if (depth + 1 > maxDepth) {
+                throw new InvalidRecordException("Record exceeds the maximum depth of " + maxDepth);
+            }
+            List<?> list = (List<?>) value;
+            List<Object> result = new ArrayList<>(list.size());
+            for (Object element : list) {
+                result.add(convertValue(element, depth + 1, budget, plan));
+            }
+            return result;
+        }
+        if (value instanceof Map) {
+            return convertMap((Map<?, ?>) value, depth + 1, budget, plan);
+        }
+        throw new InvalidRecordException("Record contains an unsupported value of type " + value.getClass().getName());
+    }
+}
@@ -0,0 +1,366 @@
+package com.tecton.connector.converter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.connector.model.KafkaMetadata;
+import com.tecton.connector.model.TectonRecord;
+
+/**
+ * Validates serialized JSON records token by token, without materializing them, and rewrites them when
+ * their fields need to change.
+ * <p>
+ * A valid record is a single JSON object whose values are strings, numbers, booleans, nulls, arrays or
+ * nested objects: the same shapes accepted by {@code TectonRecord.isValid()}. Records nested deeper than
+ * {@code maxDepth} or holding more than {@code maxValues} values are rejected. When the field plan leaves
+ * records unchanged and the input is a bare UTF-8 object, values are never read into Strings or numbers and
+ * the input bytes are returned as-is; otherwise tokens are copied to a new buffer in the same pass, with fields that are not projected skipped
+ * unread, keys renamed or sanitised, null fields left out and, when flattening, nested objects merged
+ * into the record. When keys are rewritten, the generator checks each object for duplicate names, so
+ * records in which two keys end up with the same name are rejected.
+ */
+final class StreamingJsonConverter {
+
+    private final JsonFactory jsonFactory;
+    private final int maxDepth;
+    private final int maxValues;
+    private final List<String> compactionKeyFields;
+
+    /**
+     * Constructs a StreamingJsonConverter.
+     *
+     * @param jsonFactory         The factory used to create parsers and generators.
+     * @param maxDepth            The maximum nesting depth of objects and arrays, counting the record itself.
+     * @param maxValues           The maximum number of values in a record.
+     * @param compactionKeyFields The output fields whose values form the compaction key, or an empty list.
+     */
+    StreamingJsonConverter(JsonFactory jsonFactory, int maxDepth, int maxValues, List<String> compactionKeyFields) {
+        this.jsonFactory = jsonFactory;
+        this.maxDepth = maxDepth;
+        this.maxValues = maxValues;
+        this.compactionKeyFields = compactionKeyFields;
+    }
+
+    /**
+     * Validates that the UTF-8 bytes hold exactly one JSON object of Tecton-compatible values, rewriting
+     * it if needed.
+     *
+     * @param utf8           The UTF-8 encoded JSON.
+     * @param plan           The field plan of the record's push source.
+     * @param routingField   The top-level field whose value routes the record, or null.
+     * @param eventTimeField The top-level field holding the record's event time, or null.
+     * @param metadata       The Kafka metadata to include, or null.
+     * @return The record, embedding either the input itself or a rewritten copy.
+     * @throws InvalidRecordException If the JSON is well formed but not a valid Tecton record.
+     * @throws IOException            If the JSON is malformed.
+     */
+    TectonRecord convert(byte[] utf8, FieldPlan plan, String routingField, String eventTimeField,
+                         KafkaMetadata metadata) throws InvalidRecordException, IOException {
+        try (JsonParser parser = jsonFactory.createParser(utf8)) {
+            Captured captured = new Captured(metadata != null, compactionKeyFields, routingField, eventTimeField);
+            byte[] json;
+            if (plan.isIdentity() && isBareObject(utf8)) {
+                walk(parser, null, plan, captured);
+                json = utf8;
+            } else {
+                ByteArrayBuilder output = new ByteArrayBuilder(utf8.length);
+                try (JsonGenerator generator = jsonFactory.createGenerator(output)) {
+                    if (plan.isRewritingNames()) {
+                        generator.enable(JsonGenerator.Feature.STRICT_DUPLICATE_DETECTION);
+                    }
+                    walk(parser, generator, plan, captured);
+                } catch (JsonGenerationException e) {
+                    throw new InvalidRecordException("Record has more than one field with the same name once its "
+                            + "keys are rewritten: " + e.getOriginalMessage(), e);
+                }
+                json = output.toByteArray();
+            }
+            if (metadata != null) {
+                metadata = metadata.shadowedBy(captured.metadataFields);
+            }
+            TectonRecord record = TectonRecord.fromRawJson(json, metadata);
+            record.setRoutingValue(captured.routingValue);
+            record.setCompactionKey(captured.compactionKey());
+            record.setEventTime(captured.eventTime);
+            return record;
+        }
+    }
+
+    /**
+     * Walks every token of the record, validating it and copying it to the generator when one is given.
+     * The scalar value of the routing field, or null if it is absent or not a scalar, the event time, the
+     * values of the compaction key fields and the metadata field names the output record has are captured
+     * along the way.
+     */
+    private void walk(JsonParser parser, JsonGenerator generator, FieldPlan plan, Captured captured)
+            throws InvalidRecordException, IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new InvalidRecordException("Record value is not a JSON object");
+        }
+        if (generator != null) {
+            generator.writeStartObject();
+        }
+
+        // prefixes[d] holds the flattened name of the object open at depth d, or null if it is written as-is
+        String[] prefixes = plan.isFlattening() ? new String[maxDepth + 1] : null;
+        int depth = 1;
+        int values = 0;
+        // The input field the next token is the value of, if it is the routing or event time field, or null
+        String inputField = null;
+        // The compaction key field the next token is the value of, or -1
+        int keyField = -1;
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new InvalidRecordException("Record value ended before the JSON object was closed");
+            }
+            if (inputField != null) {
+                captured.inputValue(inputField, token, parser);
+                inputField = null;
+            }
+            if (keyField >= 0) {
+                captured.keyValue(keyField, token, parser);
+                keyField = -1;
+            }
+            if (token == JsonToken.FIELD_NAME) {
+                String input = depth == 1 ? captured.inputField(parser.getCurrentName()) : null;
+                if (generator == null) {
+                    if (depth == 1) {
+                        keyField = captured.topLevelField(parser.getCurrentName());
+                    }
+                    inputField = input;
+                    continue;
+                }
+                boolean flattening = prefixes != null && (depth == 1 || prefixes[depth] != null);
+                String name = fieldName(parser.getCurrentName(), depth, prefixes, plan);
+                if (name == null) {
+                    // Not projected: the value is tokenized (so malformed JSON is still rejected) but not read
+                    token = parser.nextToken();
+                    if (input != null) {
+                        captured.inputValue(input, token, parser);
+                    }
+                    parser.skipChildren();
+                    continue;
+                }
+                // Whether the field is written at the top level of the output record
+                boolean topLevel = depth == 1 || flattening;
+                if (!flattening && !plan.isOmittingNulls()) {
+                    if (topLevel) {
+                        keyField = captured.topLevelField(name);
+                    }
+                    generator.writeFieldName(name);
+                    inputField = input;
+                    continue;
+                }
+                token = parser.nextToken();
+                if (input != null) {
+                    captured.inputValue(input, token, parser);
+                }
+                if (token == JsonToken.VALUE_NULL && plan.isOmittingNulls()) {
+                    plan.omitted(name, null);
+                    continue;
+                }
+                if (flattening && token == JsonToken.START_OBJECT) {
+                    // Merged into the enclosing object: its fields are written under prefixed names
+                    if (++depth > maxDepth) {
+                        throw new InvalidRecordException("Record exceeds the maximum depth of " + maxDepth);
+                    }
+                    if (++values > maxValues) {
+                        throw new InvalidRecordException("Record exceeds the maximum of " + maxValues + " values");
+                    }
+                    prefixes[depth] = name;
+                    continue;
+                }
+                if (topLevel) {
+                    int index = captured.topLevelField(name);
+                    if (index >= 0) {
+                        captured.keyValue(index, token, parser);
+                    }
+                }
+                generator.writeFieldName(name);
+            }
+            switch (token) {
+                case END_OBJECT:
+                case END_ARRAY:
+                    if (prefixes != null && prefixes[depth] != null) {
+                        prefixes[depth--] = null;
+                        continue;
+                    }
+                    depth--;
+                    if (generator != null) {
+                        copyToken(token, parser, generator);
+                    }
+                    continue;
+                case START_OBJECT:
+                case START_ARRAY:
+                    if (++depth > maxDepth) {
+                        throw new InvalidRecordException("Record exceeds the maximum depth of " + maxDepth);
+                    }
+                    break;
+                case VALUE_STRING:
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                case VALUE_NULL:
+                    break;
+                default:
+                    throw new InvalidRecordException("Unsupported JSON value in record: " + token);
+            }
+            if (++values > maxValues) {
+                throw new InvalidRecordException("Record exceeds the maximum of " + maxValues + " values");
+            }
+            if (generator != null) {
+                copyToken(token, parser, generator);
+            }
+        }
+
+        if (parser.nextToken() != null) {
+            throw new InvalidRecordException("Record value has trailing content after the JSON object");
+        }
+    }
+
+    /**
+     * Returns whether the input starts and ends with the braces of its object, so it can be embedded in a
+     * request verbatim. The parser also accepts surrounding whitespace, a byte order mark and UTF-16 or
+     * UTF-32 encodings, none of which can be copied into a UTF-8 request, so such inputs are rewritten.
+     */
+    private static boolean isBareObject(byte[] utf8) {
+        return utf8.length > 1 && utf8[0] == '{' && utf8[utf8.length - 1] == '}';
+    }
+
+    /**
+     * Resolves the output name of a key in the object open at the given depth, or null if it is skipped.
+     */
+    private static String fieldName(String key, int depth, String[] prefixes, FieldPlan plan) {
+        if (prefixes != null && prefixes[depth] != null) {
+            return plan.flattenedName(prefixes[depth], key);
+        }
+        return depth == 1 ? plan.fieldName(key) : plan.nestedName(key);
+    }
+
+    /**
+     * Copies a structural or scalar token. Strings and numbers are copied from the parser's character
+     * buffer, so numbers keep their exact textual representation.
+     */
+    private static void copyToken(JsonToken token, JsonParser parser, JsonGenerator generator) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                generator.writeStartObject();
+                break;
+            case END_OBJECT:
+                generator.writeEndObject();
+                break;
+            case START_ARRAY:
+                generator.writeStartArray();
+                break;
+            case END_ARRAY:
+                generator.writeEndArray();
+                break;
+            case VALUE_STRING:
+                generator.writeString(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                break;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                generator.writeNumber(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                break;
+            case VALUE_TRUE:
+                generator.writeBoolean(true);
+                break;
+            case VALUE_FALSE:
+                generator.writeBoolean(false);
+                break;
+            default:
+                generator.writeNull();
+                break;
+        }
+    }
+
+    /**
+     * The values captured while walking a record.
+     */
+    private static final class Captured {
+
+        private final boolean trackingMetadataFields;
+        private final List<String> keyFields;
+        private final String[] keyValues;
+        private final String routingField;
+        private final String eventTimeField;
+        private boolean keyPresent;
+        private String routingValue;
+        private Long eventTime;
+        // The KafkaMetadata field bits of the output record's top-level names
+        private int metadataFields;
+
+        Captured(boolean trackingMetadataFields, List<String> keyFields, String routingField, String eventTimeField) {
+            this.trackingMetadataFields = trackingMetadataFields;
+            this.keyFields = keyFields;
+            this.keyValues = keyFields.isEmpty() ? null : new String[keyFields.size()];
+            this.routingField = routingField;
+            this.eventTimeField = eventTimeField;
+        }
+
+        /**
+         * Returns the name if a top-level field of the input record is the routing or event time field,
+         * null otherwise.
+         */
+        String inputField(String name) {
+            return name.equals(routingField) || name.equals(eventTimeField) ? name : null;
+        }
+
+        /**
+         * Captures the value of a field returned by {@link #inputField(String)}. The routing value is the
+         * text of a scalar other than null.
+         */
+        void inputValue(String name, JsonToken token, JsonParser parser) throws IOException {
+            if (name.equals(routingField)) {
+                routingValue = token.isScalarValue() && token != JsonToken.VALUE_NULL ? parser.getText() : null;
+            }
+            if (name.equals(eventTimeField)) {
+                eventTime = EventTimes.of(token, parser);
+            }
+        }
+
+        /**
+         * Notes a top-level name of the output record, returning the index of the compaction key field it
+         * names, or -1.
+         */
+        int topLevelField(String name) {
+            if (trackingMetadataFields) {
+                metadataFields |= KafkaMetadata.fieldBit(name);
+            }
+            return keyValues == null ? -1 : keyFields.indexOf(name);
+        }
+
+        void keyValue(int index, JsonToken token, JsonParser parser) throws IOException {
+            String text;
+            switch (token) {
+                case VALUE_STRING:
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    text = parser.getText();
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    text = CompactionKeys.numberText(parser.getText());
+                    break;
+                default:
+                    text = null;
+                    break;
+            }
+            keyValues[index] = text;
+            keyPresent |= text != null;
+        }
+
+        List<String> compactionKey() {
+            return keyPresent ? Arrays.asList(keyValues) : null;
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.tecton.connector.converter;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.DataException;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.connector.util.TimeFormatUtil;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+/**
+ * Converts Connect Structs directly into Tecton record maps, walking the value alongside its schema.
+ * <p>
+ * Logical types are written in the form Tecton expects instead of their JsonConverter encodings:
+ * Decimals as numbers (or strings / base64, configurable per field), Dates and Times as ISO-8601 strings
+ * and Timestamps as RFC 3339 strings. Depth and value limits are enforced during the same traversal.
+ */
+final class StructConverter {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private final int maxDepth;
+    private final int maxValues;
+    private final DecimalEncoding decimalEncoding;
+    private final Map<String, DecimalEncoding> decimalEncodingOverrides;
+    private final boolean timestampAsRfc3339;
+    private final FieldNameInterner interner;
+    private final KeySanitiser keySanitiser;
+
+    /**
+     * Constructs a StructConverter.
+     *
+     * @param config       The connector configuration.
+     * @param interner     The interner used to canonicalize map keys.
+     * @param keySanitiser The sanitiser applied to every field name and map key, or null to keep them.
+     */
+    StructConverter(TectonHttpSinkConnectorConfig config, FieldNameInterner interner, KeySanitiser keySanitiser) {
+        this.maxDepth = config.recordMaxDepth;
+        this.maxValues = config.recordMaxValues;
+        this.decimalEncoding = DecimalEncoding.valueOf(config.decimalFormat);
+        this.decimalEncodingOverrides = new HashMap<>();
+        for (Map.Entry<String, String> override : config.decimalFormatOverrides.entrySet()) {
+            decimalEncodingOverrides.put(override.getKey(), DecimalEncoding.valueOf(override.getValue()));
+        }
+        this.timestampAsRfc3339 = "RFC3339".equals(config.timestampFormat);
+        this.interner = interner;
+        this.keySanitiser = keySanitiser;
+    }
+
+    /**
+     * Converts a Struct into a record map.
+     *
+     * @param struct The Struct to convert.
+     * @return The record data.
+     * @throws InvalidRecordException If the Struct exceeds the depth or value limits.
+     * @throws DataException          If a value does not match its schema.
+     */
+    Map<String, Object> convert(Struct struct) throws InvalidRecordException {
+        Traversal traversal = new Traversal(maxValues, null);
+        return convertStruct(struct, 1, traversal);
+    }
+
+    /**
+     * Compiles a Struct schema into a plan that resolves its projected top-level fields and their output
+     * names once, for converting every record that shares the schema. When flattening, nested Structs are
+     * expanded into the paths of their fields. If two fields end up with the same name, every record is
+     * rejected when it is converted with the plan.
+     *
+     * @param schema    The Struct schema.
+     * @param fieldPlan The field plan of the push source the records are written to.
+     * @return The compiled plan.
+     */
+    Plan compile(Schema schema, FieldPlan fieldPlan) {
+        List<Field[]> paths = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (Field field : schema.fields()) {
+            String name = fieldPlan.fieldName(field.name());
+            if (name != null) {
+                addPaths(new Field[] {field}, name, fieldPlan, paths, names);
+            }
+        }
+        String duplicateName = null;
+        Set<String> seen = new HashSet<>();
+        for (String name : names) {
+            if (!seen.add(name)) {
+                duplicateName = name;
+                break;
+            }
+        }
+        return new Plan(schema, paths.toArray(new Field[0][]), names.toArray(new String[0]), fieldPlan,
+                duplicateName);
+    }
+
+    private void addPaths(Field[] path, String name, FieldPlan fieldPlan, List<Field[]> paths, List<String> names) {
+        Schema schema = path[path.length - 1].schema();
+        if (!fieldPlan.isFlattening() || schema.type() != Schema.Type.STRUCT || path.length >= maxDepth) {
+            paths.add(path);
+            names.add(name);
+            return;
+        }
+        for (Field child : schema.fields()) {
+            Field[] childPath = Arrays.copyOf(path, path.length + 1);
+            childPath[path.length] = child;
+            addPaths(childPath, fieldPlan.flattenedName(name, child.name()), fieldPlan, paths, names);
+        }
+    }
+
+    /**
+     * Converts a Struct into a record map using a plan compiled from its schema.
+     *
+     * @param struct The Struct to convert.
+     * @param plan   The plan compiled from the Struct's schema.
+     * @return The record data.
+     * @throws InvalidRecordException If the Struct exceeds the depth or value limits.
+     * @throws DataException          If a value does not match its schema.
+     */
+    Map<String, Object> convert(Struct struct, Plan plan) throws InvalidRecordException {
+        if (plan.duplicateName != null) {
+            throw duplicateName(plan.duplicateName);
+        }
+        Traversal traversal = new Traversal(maxValues, plan.fieldPlan);
+        Field[][] paths = plan.paths;
+        String[] names = plan.names;
+        Map<String, Object> result = new LinkedHashMap<>(capacityFor(paths.length));
+        for (int i = 0; i < paths.length; i++) {
+            Field[] path = paths[i];
+            Field field = path[path.length - 1];
+            // A flattened field of a null Struct is null itself
+            Struct parent = struct;
+            for (int j = 0; j < path.length - 1 && parent != null; j++) {
+                parent = (Struct) parent.get(path[j]);
+            }
+            Object value = parent != null ? parent.get(field) : null;
+            if (!traversal.omits(names[i], field, value)) {
+                result.put(names[i], convertValue(field.name(), field.schema(), value, path.length, traversal));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Object> convertStruct(Struct struct, int depth, Traversal traversal) throws InvalidRecordException {
+        checkDepth(depth);
+        List<Field> fields = struct.schema().fields();
+        Map<String, Object> result = new LinkedHashMap<>(capacityFor(fields.size()));
+        // Field names are unique in the schema, so they can only collide once a name has been sanitised
+        boolean rewritten = false;
+        for (int i = 0, size = fields.size(); i < size; i++) {
+            Field field = fields.get(i);
+            String name = fieldName(field.name());
+            if (!rewritten && !name.equals(field.name())) {
+                rewritten = true;
+            }
+            if (rewritten && result.containsKey(name)) {
+                throw duplicateName(name);
+            }
+            Object value = struct.get(field);
+            if (!traversal.omits(name, field, value)) {
+                result.put(name, convertValue(field.name(), field.schema(), value, depth, traversal));
+            }
+        }
+        return result;
+    }
+
+    private Object convertValue(String name, Schema schema, Object value, int depth, Traversal traversal)
+            throws InvalidRecordException {
+        traversal.consume();
+        if (value == null) {
+            return null;
+        }
+
+        String logicalName = schema.name();
+        if (logicalName != null) {
+            switch (logicalName) {
+                case Decimal.LOGICAL_NAME:
+                    return convertDecimal(name, schema, (BigDecimal) value);
+                case Date.LOGICAL_NAME:
+                    return formatDate((java.util.Date) value);
+                case Time.LOGICAL_NAME:
+                    return formatTime((java.util.Date) value);
+                case Timestamp.LOGICAL_NAME:
+                    long epochMillis = ((java.util.Date) value).getTime();
+                    return timestampAsRfc3339 ? TimeFormatUtil.formatRfc3339(epochMillis) : epochMillis;
+                default:
+                    break;
+            }
+        }
+
+        switch (schema.type()) {
+            case STRUCT:
+                return convertStruct((Struct) value, depth + 1, traversal);
+            case ARRAY:
+                return convertArray(name, schema, (List<?>) value, depth + 1, traversal);
+            case MAP:
+                return convertMap(name, schema, (Map<?, ?>) value, depth + 1, traversal);
+            case BYTES:
+                return encodeBytes(value);
+            default:
+                // INT8-64, FLOAT32/64, BOOLEAN and STRING map directly onto JSON values
+                return value;
+        }
+    }
+
+    private List<Object> convertArray(String name, Schema schema, List<?> values, int depth, Traversal traversal)
+            throws InvalidRecordException {
+        checkDepth(depth);
+        Schema valueSchema = schema.valueSchema();
+        List<Object> result = new ArrayList<>(values.size());
+        for (int i = 0, size = values.size(); i < size; i++) {
+            result.add(convertValue(name, valueSchema, values.get(i), depth, traversal));
+        }
+        return result;
+    }
+
+    private Map<String, Object> convertMap(String name, Schema schema, Map<?, ?> values, int depth, Traversal traversal)
+            throws InvalidRecordException {
+        checkDepth(depth);
+        Schema keySchema = schema.keySchema();
+        Schema valueSchema = schema.valueSchema();
+        Map<String, Object> result = new LinkedHashMap<>(capacityFor(values.size()));
+        // Keys that are not strings may share their text, so every key is checked once one is rewritten
+        boolean rewritten = false;
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            Object key = entry.getKey();
+            String stringKey;
+            if (key instanceof String) {
+                stringKey = (String) key;
+            } else {
+                stringKey = String.valueOf(convertValue(name, keySchema, key, depth, traversal));
+                rewritten = true;
+            }
+            String outputKey = mapKey(stringKey);
+            if (!rewritten && !outputKey.equals(stringKey)) {
+                rewritten = true;
+            }
+            if (entry.getValue() == null && traversal.omitsNull(outputKey)) {
+                continue;
+            }
+            if (rewritten && result.containsKey(outputKey)) {
+                throw duplicateName(outputKey);
+            }
+            result.put(outputKey, convertValue(name, valueSchema, entry.getValue(), depth, traversal));
+        }
+        return result;
+    }
+
+    /**
+     * Field names come from the schema, which is shared across records, so they only need sanitising.
+     */
+    private String fieldName(String name) {
+        return keySanitiser == null ? name : keySanitiser.sanitise(name);
+    }
+
+    /**
+     * Map keys are created per record by the upstream converter, so they are canonicalized as well.
+     */
+    private String mapKey(String key) {
+        return keySanitiser == null ? interner.intern(key) : keySanitiser.sanitise(key);
+    }
+
+    private Object convertDecimal(String name, Schema schema, BigDecimal value) {
+        DecimalEncoding encoding = decimalEncodingOverrides.isEmpty()
+                ? decimalEncoding
+                : decimalEncodingOverrides.getOrDefault(name, decimalEncoding);
+        switch (encoding) {
+            case STRING:
+                return value.toPlainString();
+            case BASE64:
+                return Base64.getEncoder().encodeToString(Decimal.fromLogical(schema, value));
+            default:
+                return value;
+        }
+    }
+
+    private static String formatDate(java.util.Date value) {
+        long epochDay = TimeUnit.MILLISECONDS.toDays(value.getTime());
+        return TimeFormatUtil.format(DATE_FORMATTER, LocalDate.ofEpochDay(epochDay));
+    }
+
+    private static String formatTime(java.util.Date value) {
+        long millisOfDay = value.getTime();
+        return TimeFormatUtil.format(TIME_FORMATTER, LocalTime.ofNanoOfDay(TimeUnit.MILLISECONDS.toNanos(millisOfDay)));
+    }
+
+    static String encodeBytes(Object value) {
+        if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        }
+        if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        throw new DataException("Invalid bytes value of type " + value.getClass().getName());
+    }
+
+    private void checkDepth(int depth) throws InvalidRecordException {
+        if (depth > maxDepth) {
+            throw new InvalidRecordException("Record exceeds the maximum depth of " + maxDepth);
+        }
+    }
+
+    private static InvalidRecordException duplicateName(String name) {
+        return new InvalidRecordException("Record has more than one field named " + name + " once its keys are rewritten");
+    }
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * The state of converting one record: its remaining value budget and the field plan it is converted
+     * with, if any.
+     */
+    private static final class Traversal {
+
+        private final int maxValues;
+        private final FieldPlan fieldPlan;
+        private int remaining;
+
+        Traversal(int maxValues, FieldPlan fieldPlan) {
+            this.maxValues = maxValues;
+            this.fieldPlan = fieldPlan;
+            this.remaining = maxValues;
+        }
+
+        void consume() throws InvalidRecordException {
+            if (--remaining < 0) {
+                throw new InvalidRecordException("Record exceeds the maximum of " + maxValues + " values");
+            }
+        }
+
+        /**
+         * Returns whether a Struct field is left out of the record, recording it if so.
+         */
+        boolean omits(String name, Field field, Object value) {
+            if (fieldPlan == null) {
+                return false;
+            }
+            boolean omitted = value == null
+                    ? fieldPlan.isOmittingNulls()
+                    : fieldPlan.isOmittingDefaults() && isDefault(value, field.schema().defaultValue());
+            if (omitted) {
+                fieldPlan.omitted(name, value);
+            }
+            return omitted;
+        }
+
+        /**
+         * Returns whether a null map value is left out of the record, recording it if so. Map values have
+         * no schema default, so only nulls are omitted.
+         */
+        boolean omitsNull(String key) {
+            if (fieldPlan == null || !fieldPlan.isOmittingNulls()) {
+                return false;
+            }
+            fieldPlan.omitted(key, null);
+            return true;
+        }
+
+        /**
+         * Compares a value with its schema default. Bytes may be held as either byte[] or ByteBuffer, and
+         * arrays only compare by identity, so they are compared by content.
+         */
+        private static boolean isDefault(Object value, Object defaultValue) {
+            if (defaultValue == null) {
+                return false;
+            }
+            if (value instanceof byte[] && defaultValue instanceof byte[]) {
+                return Arrays.equals((byte[]) value, (byte[]) defaultValue);
+            }
+            if (value instanceof byte[] || value instanceof ByteBuffer) {
+                ByteBuffer defaultBuffer = asBuffer(defaultValue);
+                return defaultBuffer != null && asBuffer(value).equals(defaultBuffer);
+            }
+            return value.equals(defaultValue);
+        }
+
+        private static ByteBuffer asBuffer(Object value) {
+            if (value instanceof byte[]) {
+                return ByteBuffer.wrap((byte[]) value);
+            }
+            return value instanceof ByteBuffer ? (ByteBuffer) value : null;
+        }
+    }
+
+    /**
+     * A Struct schema compiled by {@link #compile(Schema, FieldPlan)}.
+     */
+    static final class Plan {
+
+        private final Schema schema;
+        private final Field[][] paths;
+        private final String[] names;
+        private final FieldPlan fieldPlan;
+        // An output name shared by several fields, or null
+        private final String duplicateName;
+
+        private Plan(Schema schema, Field[][] paths, String[] names, FieldPlan fieldPlan, String duplicateName) {
+            this.schema = schema;
+            this.paths = paths;
+            this.names = names;
+            this.fieldPlan = fieldPlan;
+            this.duplicateName = duplicateName;
+        }
+
+        /**
+         * Returns whether the plan was compiled from the given schema. Converters usually cache their
+         * schemas, so the identity check almost always decides; schemas rebuilt per record fall back to a
+         * structural comparison rather than recompiling the plan for every record.
+         */
+        boolean appliesTo(Schema schema) {
+            return this.schema == schema || this.schema.equals(schema);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.tecton.connector.converter;
+
+import java.io.IOException;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.connector.model.KafkaMetadata;
+import com.tecton.connector.model.TectonRecord;
+
+/**
+ * Converts record values of one specific shape, as chosen by {@link ConverterRegistry} for a topic.
+ */
+interface ValueConverter {
+
+    /**
+     * Returns whether this converter was specialized for values like the given one.
+     *
+     * @param value The record value.
+     * @return True if the value can be converted by this converter.
+     */
+    boolean accepts(Object value);
+
+    /**
+     * Converts a record value accepted by this converter.
+     *
+     * @param value    The record value.
+     * @param metadata The Kafka metadata to include, or null.
+     * @return The converted TectonRecord.
+     * @throws InvalidRecordException If the value is not a valid Tecton record.
+     * @throws IOException            If a serialized value is malformed.
+     */
+    TectonRecord convert(Object value, KafkaMetadata metadata) throws InvalidRecordException, IOException;
+}
@@ -59,4 +59,14 @@ public class HttpClientException extends ConnectorException {
     public int getStatusCode() {
         return statusCode;
     }
+
+    /**
+     * Returns whether the request may succeed if sent again later: it failed without a response (e.g. the
+     * endpoint was unreachable), timed out, was throttled or hit a server error.
+     *
+     * @return True if the failure is transient; false if the request itself was rejected.
+     */
+    public boolean isRetriable() {
+        return statusCode == -1 || statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
 }
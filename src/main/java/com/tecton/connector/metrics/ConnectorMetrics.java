@@ -0,0 +1,90 @@
+package com.tecton.connector.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.KafkaMetricsContext;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.utils.Time;
+
+/**
+ * The metrics of a connector task, registered in a Kafka {@link Metrics} registry and exposed over JMX
+ * under the {@value #JMX_NAMESPACE} domain, tagged with the connector name and task id.
+ * <p>
+ * Counters updated on hot paths are backed by {@link LongAdder}s, so concurrent updates (e.g. from
+ * parallel conversion) do not contend, and are only summed when the metric is read.
+ */
+public class ConnectorMetrics implements AutoCloseable {
+
+    public static final String JMX_NAMESPACE = "tecton.connect";
+
+    private final Metrics metrics;
+    private final Map<String, String> tags;
+    private final ConcurrentMap<MetricName, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a ConnectorMetrics.
+     *
+     * @param connectorName The name of the connector.
+     * @param taskId        The id of the task within the connector.
+     */
+    public ConnectorMetrics(String connectorName, String taskId) {
+        Map<String, String> taskTags = new LinkedHashMap<>();
+        taskTags.put("connector", connectorName);
+        taskTags.put("task", taskId);
+        this.tags = Collections.unmodifiableMap(taskTags);
+        this.metrics = new Metrics(
+                new MetricConfig(),
+                Collections.singletonList(new JmxReporter()),
+                Time.SYSTEM,
+                new KafkaMetricsContext(JMX_NAMESPACE));
+    }
+
+    /**
+     * Returns the underlying registry, for metrics that need sensors (e.g. rates or percentiles).
+     */
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the name of a metric, tagged with the task's tags and the given ones.
+     *
+     * @param name        The metric name.
+     * @param group       The metric group, which becomes the JMX type.
+     * @param description The metric description.
+     * @param extraTags   Additional tags, e.g. the push source.
+     * @return The metric name.
+     */
+    public MetricName metricName(String name, String group, String description, Map<String, String> extraTags) {
+        Map<String, String> metricTags = new LinkedHashMap<>(tags);
+        metricTags.putAll(extraTags);
+        return metrics.metricName(name, group, description, metricTags);
+    }
+
+    /**
+     * Returns the counter registered under a metric name, registering it on first use.
+     *
+     * @param metricName The metric name.
+     * @return The counter backing the metric.
+     */
+    public LongAdder counter(MetricName metricName) {
+        return counters.computeIfAbsent(metricName, name -> {
+            LongAdder counter = new LongAdder();
+            metrics.addMetric(name, (Gauge<Long>) (config, now) -> counter.sum());
+            return counter;
+        });
+    }
+
+    @Override
+    public void close() {
+        metrics.close();
+    }
+}
@@ -0,0 +1,83 @@
+package com.tecton.connector.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.Percentiles.BucketSizing;
+import com.tecton.connector.model.TectonApiRequest;
+
+/**
+ * Records the end-to-end freshness of the records acknowledged by Tecton, i.e. the time from their Kafka
+ * timestamp to the response, per push source.
+ * <p>
+ * Each request carries the range of its records' Kafka timestamps, so only the ages of its oldest and
+ * newest records are recorded, with no work per record. The percentiles are therefore percentiles over
+ * requests, not records: {@code freshness-oldest-*} describe the age of each request's oldest record, the
+ * worst freshness it delivered, and {@code freshness-newest-*} that of its newest record, the best. They
+ * are estimated from histograms whose buckets cover up to {@value #HISTOGRAM_MAX_MS} ms; older records fall
+ * in the last bucket, but are still reflected exactly by {@code freshness-max-ms}.
+ */
+public class FreshnessMetrics {
+
+    private static final String METRIC_GROUP = "freshness-metrics";
+    private static final long HISTOGRAM_MAX_MS = 3_600_000L;
+    private static final int HISTOGRAM_SIZE_BYTES = 16000;
+
+    private final ConnectorMetrics metrics;
+    private final ConcurrentMap<String, Sensor[]> sensors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a FreshnessMetrics.
+     *
+     * @param metrics The metrics of the task.
+     */
+    public FreshnessMetrics(ConnectorMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Records the freshness of a request's records once Tecton has acknowledged them. Requests without Kafka
+     * timestamps, such as replayed spilled batches, are ignored.
+     *
+     * @param request The acknowledged request.
+     */
+    public void record(TectonApiRequest request) {
+        if (!request.hasKafkaTimestamps()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String pushSource : request.getRecords().keySet()) {
+            Sensor[] pushSourceSensors = sensors.computeIfAbsent(pushSource, this::freshnessSensors);
+            pushSourceSensors[0].record(Math.max(0, now - request.getMinKafkaTimestamp()), now);
+            pushSourceSensors[1].record(Math.max(0, now - request.getMaxKafkaTimestamp()), now);
+        }
+    }
+
+    /**
+     * Creates the sensors of the oldest and newest records' ages, in that order.
+     */
+    private Sensor[] freshnessSensors(String pushSource) {
+        Map<String, String> tags = Collections.singletonMap("push-source", pushSource);
+        Sensor oldest = percentilesSensor(pushSource, "oldest", tags);
+        oldest.add(metrics.metricName("freshness-max-ms", METRIC_GROUP,
+                "The maximum time from Kafka timestamp to Tecton acknowledgement of any record", tags), new Max());
+        return new Sensor[] {oldest, percentilesSensor(pushSource, "newest", tags)};
+    }
+
+    private Sensor percentilesSensor(String pushSource, String record, Map<String, String> tags) {
+        Sensor sensor = metrics.metrics().sensor("freshness-" + record + "." + pushSource);
+        sensor.add(new Percentiles(HISTOGRAM_SIZE_BYTES, HISTOGRAM_MAX_MS, BucketSizing.LINEAR,
+                new Percentile(metrics.metricName("freshness-" + record + "-p50-ms", METRIC_GROUP,
+                        "The median over requests of the time from the Kafka timestamp of their " + record
+                                + " record to Tecton acknowledgement", tags), 50),
+                new Percentile(metrics.metricName("freshness-" + record + "-p99-ms", METRIC_GROUP,
+                        "The 99th percentile over requests of the time from the Kafka timestamp of their "
+                                + record + " record to Tecton acknowledgement", tags), 99)));
+        return sensor;
+    }
+}
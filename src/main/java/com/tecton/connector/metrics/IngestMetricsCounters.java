@@ -0,0 +1,193 @@
+package com.tecton.connector.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tecton.connector.model.TectonApiResponse;
+import com.tecton.connector.model.TectonApiResponse.IngestMetrics;
+import com.tecton.connector.model.TectonApiResponse.IngestMetrics.DataSourceMetric;
+import com.tecton.connector.model.TectonApiResponse.IngestMetrics.FeatureViewMetric;
+import com.tecton.connector.util.JsonUtil;
+
+/**
+ * Totals the record counts Tecton reports in its responses, per feature view and data source, as proof of
+ * what was actually written online and offline.
+ * <p>
+ * Counts can also be read straight from a response body with {@link #record(InputStream)}, which skips
+ * everything else in it without binding a {@link TectonApiResponse}.
+ * <p>
+ * Responses complete on OkHttp's threads, so the counters are {@link LongAdder}s, looked up by name in
+ * concurrent maps after their first use.
+ */
+public class IngestMetricsCounters {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IngestMetricsCounters.class);
+    private static final String METRIC_GROUP = "ingest-metrics";
+
+    private final ConnectorMetrics metrics;
+    private final ConcurrentMap<String, LongAdder> onlineByFeatureView = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> offlineByFeatureView = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> offlineByDataSource = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an IngestMetricsCounters.
+     *
+     * @param metrics The metrics of the task.
+     */
+    public IngestMetricsCounters(ConnectorMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds the counts of a response.
+     *
+     * @param response The response, or null if it had no body.
+     */
+    public void record(TectonApiResponse response) {
+        IngestMetrics ingestMetrics = response != null ? response.getIngestMetrics() : null;
+        if (ingestMetrics == null) {
+            return;
+        }
+        if (ingestMetrics.getFeatureViewIngestMetrics() != null) {
+            for (FeatureViewMetric metric : ingestMetrics.getFeatureViewIngestMetrics()) {
+                recordFeatureView(metric.getFeatureViewName(),
+                        parseCount(metric.getOnlineRecordIngestCount()),
+                        parseCount(metric.getOfflineRecordIngestCount()));
+            }
+        }
+        if (ingestMetrics.getDataSourceIngestMetrics() != null) {
+            for (DataSourceMetric metric : ingestMetrics.getDataSourceIngestMetrics()) {
+                recordDataSource(metric.getDataSourceName(), parseCount(metric.getOfflineRecordIngestCount()));
+            }
+        }
+    }
+
+    /**
+     * Adds the counts of a response body as it is read, without buffering it or binding the response.
+     *
+     * @param body The JSON body of a success response.
+     * @throws IOException If the body cannot be read or is malformed.
+     */
+    public void record(InputStream body) throws IOException {
+        try (JsonParser parser = JsonUtil.getObjectMapper().getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("ingestMetrics".equals(name) && token == JsonToken.START_OBJECT) {
+                    readIngestMetrics(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readIngestMetrics(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            boolean featureViews = "featureViewIngestMetrics".equals(name);
+            if (!featureViews && !"dataSourceIngestMetrics".equals(name)) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String metricName = null;
+                long online = 0;
+                long offline = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("featureViewName".equals(field) || "dataSourceName".equals(field)) {
+                        metricName = parser.getValueAsString();
+                    } else if ("onlineRecordIngestCount".equals(field)) {
+                        online = parser.getValueAsLong();
+                    } else if ("offlineRecordIngestCount".equals(field)) {
+                        offline = parser.getValueAsLong();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (featureViews) {
+                    recordFeatureView(metricName, online, offline);
+                } else {
+                    recordDataSource(metricName, offline);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the counts of records written to a feature view.
+     *
+     * @param featureView The name of the feature view.
+     * @param online      The number of records written to the online store.
+     * @param offline     The number of records written to the offline store.
+     */
+    public void recordFeatureView(String featureView, long online, long offline) {
+        if (featureView == null) {
+            return;
+        }
+        if (online > 0) {
+            onlineByFeatureView.computeIfAbsent(featureView,
+                    name -> counter("online-records-ingested-total", "feature-view", name,
+                            "The number of records Tecton reported writing to the online store of the feature view"))
+                    .add(online);
+        }
+        if (offline > 0) {
+            offlineByFeatureView.computeIfAbsent(featureView,
+                    name -> counter("offline-records-ingested-total", "feature-view", name,
+                            "The number of records Tecton reported writing to the offline store of the feature view"))
+                    .add(offline);
+        }
+    }
+
+    /**
+     * Adds the count of records written to a data source.
+     *
+     * @param dataSource The name of the data source.
+     * @param offline    The number of records written to the offline store.
+     */
+    public void recordDataSource(String dataSource, long offline) {
+        if (dataSource == null || offline <= 0) {
+            return;
+        }
+        offlineByDataSource.computeIfAbsent(dataSource,
+                name -> counter("offline-records-ingested-total", "data-source", name,
+                        "The number of records Tecton reported writing to the offline store of the data source"))
+                .add(offline);
+    }
+
+    private LongAdder counter(String name, String tag, String value, String description) {
+        return metrics.counter(metrics.metricName(name, METRIC_GROUP, description, Collections.singletonMap(tag, value)));
+    }
+
+    /**
+     * Parses a count, which Tecton reports as a string since it is a 64-bit integer.
+     */
+    private static long parseCount(String count) {
+        if (count == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(count);
+        } catch (NumberFormatException e) {
+            LOG.debug("Ignoring unreadable ingest count {}", count);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.tecton.connector.metrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Summarizes a task's throughput in one log line per interval, in place of a line per put() and batch.
+ * <p>
+ * Puts and requests only update {@link LongAdder}s, so neither the put() thread nor OkHttp's threads wait
+ * on a lock or a log appender. A daemon thread sums and resets the counters at the end of each interval,
+ * and stays silent for intervals without any activity.
+ */
+public class ThroughputReporter implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThroughputReporter.class);
+
+    private final ScheduledExecutorService executor;
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder recordsReceived = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder recordsSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private long intervalStartMs = System.currentTimeMillis();
+
+    /**
+     * Constructs a ThroughputReporter and starts its thread.
+     *
+     * @param intervalMs The interval between summaries, in milliseconds.
+     */
+    public ThroughputReporter(long intervalMs) {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tecton-throughput-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleAtFixedRate(this::report, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts the records of a put().
+     *
+     * @param records The number of records.
+     */
+    public void recordPut(int records) {
+        puts.increment();
+        recordsReceived.add(records);
+    }
+
+    /**
+     * Counts a request acknowledged by Tecton.
+     *
+     * @param records      The number of records in the request.
+     * @param bytes        The size of the request body.
+     * @param latencyNanos The time from sending the request to receiving its response, retries included but
+     *                     not the time an asynchronous request waited for the dispatcher to start it.
+     */
+    public void recordRequest(int records, long bytes, long latencyNanos) {
+        requests.increment();
+        recordsSent.add(records);
+        bytesSent.add(bytes);
+        this.latencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    /**
+     * Counts a request that failed.
+     */
+    public void recordFailure() {
+        failedRequests.increment();
+    }
+
+    private synchronized void report() {
+        long now = System.currentTimeMillis();
+        long elapsedMs = now - intervalStartMs;
+        intervalStartMs = now;
+        long putCount = puts.sumThenReset();
+        long received = recordsReceived.sumThenReset();
+        long requestCount = requests.sumThenReset();
+        long sent = recordsSent.sumThenReset();
+        long bytes = bytesSent.sumThenReset();
+        long failed = failedRequests.sumThenReset();
+        long totalLatencyNanos = latencyNanos.sumThenReset();
+        long maxLatency = maxLatencyNanos.getThenReset();
+        if (putCount == 0 && requestCount == 0 && failed == 0) {
+            return;
+        }
+        LOG.info("In the last {} ms: received {} records in {} puts, sent {} records ({} bytes) in {} requests, "
+                        + "{} requests failed, latency avg {} ms max {} ms",
+                elapsedMs, received, putCount, sent, bytes, requestCount, failed,
+                requestCount > 0 ? TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos / requestCount) : 0,
+                TimeUnit.NANOSECONDS.toMillis(maxLatency));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        // Covers the partial interval since the last summary
+        report();
+    }
+}
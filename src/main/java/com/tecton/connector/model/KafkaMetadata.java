@@ -0,0 +1,270 @@
+package com.tecton.connector.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.connect.header.Header;
+import org.apache.kafka.connect.header.Headers;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.tecton.connector.util.TimeFormatUtil;
+
+/**
+ * Kafka metadata written alongside the record data of a {@link TectonRecord}.
+ * <p>
+ * The metadata is appended as extra fields while the record is serialized, so the record data itself
+ * is never copied. Headers are kept as delivered by Connect and only decoded during serialization.
+ * <p>
+ * When the record data already has a field named like a metadata field, the record's own field wins and
+ * the metadata field is left out, so the written object never holds duplicate names. Of several headers
+ * with the same name, the last one wins.
+ */
+public final class KafkaMetadata {
+
+    public static final String TIMESTAMP_FIELD = "kafka_timestamp";
+    public static final String KEY_FIELD = "kafka_key";
+    public static final String HEADERS_FIELD = "kafka_headers";
+
+    private static final int TIMESTAMP_BIT = 1;
+    private static final int KEY_BIT = 2;
+    private static final int HEADERS_BIT = 4;
+
+    private final Long timestamp;
+    private final boolean timestampAsRfc3339;
+    private final boolean keyIncluded;
+    private final Object key;
+    private final Headers headers;
+    // Metadata fields the record data already has, which are not written
+    private final int shadowed;
+
+    private KafkaMetadata(Builder builder) {
+        this.timestamp = builder.timestamp;
+        this.timestampAsRfc3339 = builder.timestampAsRfc3339;
+        this.keyIncluded = builder.keyIncluded;
+        this.key = builder.key;
+        this.headers = builder.headers;
+        this.shadowed = 0;
+    }
+
+    private KafkaMetadata(KafkaMetadata metadata, int shadowed) {
+        this.timestamp = metadata.timestamp;
+        this.timestampAsRfc3339 = metadata.timestampAsRfc3339;
+        this.keyIncluded = metadata.keyIncluded;
+        this.key = metadata.key;
+        this.headers = metadata.headers;
+        this.shadowed = shadowed;
+    }
+
+    /**
+     * Returns the bit identifying a metadata field name, for {@link #shadowedBy(int)}.
+     *
+     * @param name A top-level field name of the record data.
+     * @return The bit of the metadata field with that name, or 0 if the name is not a metadata field.
+     */
+    public static int fieldBit(String name) {
+        if (!name.startsWith("kafka_")) {
+            return 0;
+        }
+        switch (name) {
+            case TIMESTAMP_FIELD:
+                return TIMESTAMP_BIT;
+            case KEY_FIELD:
+                return KEY_BIT;
+            case HEADERS_FIELD:
+                return HEADERS_BIT;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns this metadata without the fields the record data already has.
+     *
+     * @param fields The {@link #fieldBit(String) bits} of the metadata field names found in the record data.
+     * @return This instance if no field is shadowed; otherwise a copy leaving those fields out.
+     */
+    public KafkaMetadata shadowedBy(int fields) {
+        return (fields | shadowed) == shadowed ? this : new KafkaMetadata(this, fields | shadowed);
+    }
+
+    /**
+     * Returns this metadata without the fields the record data already has.
+     *
+     * @param recordData The record data.
+     * @return This instance if no field is shadowed; otherwise a copy leaving those fields out.
+     */
+    KafkaMetadata shadowedBy(Map<String, ?> recordData) {
+        int fields = 0;
+        if (timestamp != null && recordData.containsKey(TIMESTAMP_FIELD)) {
+            fields |= TIMESTAMP_BIT;
+        }
+        if (keyIncluded && recordData.containsKey(KEY_FIELD)) {
+            fields |= KEY_BIT;
+        }
+        if (headers != null && recordData.containsKey(HEADERS_FIELD)) {
+            fields |= HEADERS_BIT;
+        }
+        return shadowedBy(fields);
+    }
+
+    private boolean writesTimestamp() {
+        return timestamp != null && (shadowed & TIMESTAMP_BIT) == 0;
+    }
+
+    private boolean writesKey() {
+        return keyIncluded && (shadowed & KEY_BIT) == 0;
+    }
+
+    private boolean writesHeaders() {
+        return headers != null && (shadowed & HEADERS_BIT) == 0;
+    }
+
+    /**
+     * Indicates whether any metadata field will be written.
+     *
+     * @return True if at least one field is included; false otherwise.
+     */
+    boolean hasFields() {
+        return writesTimestamp() || writesKey() || writesHeaders();
+    }
+
+    /**
+     * Writes the metadata as fields of the object currently being written by the generator.
+     *
+     * @param gen      The generator, positioned inside the record object.
+     * @param provider The serializer provider, used for key values.
+     * @throws IOException If writing fails.
+     */
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (writesTimestamp()) {
+            gen.writeFieldName(TIMESTAMP_FIELD);
+            if (timestampAsRfc3339) {
+                gen.writeString(TimeFormatUtil.formatRfc3339(timestamp));
+            } else {
+                gen.writeNumber(timestamp);
+            }
+        }
+        if (writesKey()) {
+            gen.writeFieldName(KEY_FIELD);
+            provider.defaultSerializeValue(key, gen);
+        }
+        if (writesHeaders()) {
+            gen.writeFieldName(HEADERS_FIELD);
+            gen.writeStartObject();
+            writeHeaders(gen);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes the headers in their delivery order, keeping only the last header with a given name so field
+     * names stay unique. Duplicates are found in a single backwards pass.
+     */
+    private void writeHeaders(JsonGenerator gen) throws IOException {
+        int size = headers.size();
+        if (size == 0) {
+            return;
+        }
+        Header[] ordered = new Header[size];
+        int count = 0;
+        for (Header header : headers) {
+            ordered[count++] = header;
+        }
+        if (count > 1) {
+            Set<String> seen = new HashSet<>();
+            for (int i = count - 1; i >= 0; i--) {
+                if (!seen.add(ordered[i].key())) {
+                    ordered[i] = null;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (ordered[i] != null) {
+                gen.writeFieldName(ordered[i].key());
+                writeHeaderValue(ordered[i].value(), gen);
+            }
+        }
+    }
+
+    private static void writeHeaderValue(Object value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof String) {
+            gen.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            gen.writeBoolean((Boolean) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            gen.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            gen.writeNumber(value.toString());
+        } else if (value instanceof byte[]) {
+            gen.writeString(Base64.getEncoder().encodeToString((byte[]) value));
+        } else if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            gen.writeString(Base64.getEncoder().encodeToString(bytes));
+        } else {
+            gen.writeString(value.toString());
+        }
+    }
+
+    /**
+     * Builder class for {@link KafkaMetadata}.
+     */
+    public static class Builder {
+        private Long timestamp;
+        private boolean timestampAsRfc3339;
+        private boolean keyIncluded;
+        private Object key;
+        private Headers headers;
+
+        /**
+         * Includes the Kafka record timestamp.
+         *
+         * @param timestamp       the timestamp in epoch milliseconds, or null if the record has none.
+         * @param asRfc3339       whether to write the timestamp as an RFC 3339 string instead of a number.
+         * @return this builder.
+         */
+        public Builder timestamp(Long timestamp, boolean asRfc3339) {
+            this.timestamp = timestamp;
+            this.timestampAsRfc3339 = asRfc3339;
+            return this;
+        }
+
+        /**
+         * Includes the Kafka record key.
+         *
+         * @param key the key, already converted to a JSON-compatible value.
+         * @return this builder.
+         */
+        public Builder key(Object key) {
+            this.keyIncluded = true;
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Includes the Kafka record headers.
+         *
+         * @param headers the headers, decoded only when the record is serialized.
+         * @return this builder.
+         */
+        public Builder headers(Headers headers) {
+            this.headers = headers;
+            return this;
+        }
+
+        /**
+         * Builds a new {@link KafkaMetadata} instance.
+         *
+         * @return a new instance of {@link KafkaMetadata}.
+         */
+        public KafkaMetadata build() {
+            return new KafkaMetadata(this);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tecton.connector.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import com.fasterxml.jackson.core.SerializableString;
+
+/**
+ * A pre-serialized JSON value that is written verbatim by a JsonGenerator.
+ * <p>
+ * Byte-based generators copy the UTF-8 bytes straight into their output buffer. Character-based
+ * generators (used for logging) fall back to a decoded String, which is created on first use only.
+ */
+final class RawJsonValue implements SerializableString {
+
+    private final byte[] utf8;
+    private final int offset;
+    private final int length;
+    private String value;
+
+    RawJsonValue(byte[] utf8, int offset, int length) {
+        this.utf8 = utf8;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public String getValue() {
+        String result = value;
+        if (result == null) {
+            result = new String(utf8, offset, length, StandardCharsets.UTF_8);
+            value = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        if (offset == 0 && length == utf8.length) {
+            return utf8;
+        }
+        byte[] copy = new byte[length];
+        System.arraycopy(utf8, offset, copy, 0, length);
+        return copy;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        if (offset + length > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(utf8, this.offset, buffer, offset, length);
+        return length;
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        // Let character-based generators fall back to getValue()
+        return -1;
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) {
+        throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        out.write(utf8, offset, length);
+        return length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) {
+        throw new UnsupportedOperationException("Raw JSON values cannot be quoted");
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) {
+        if (length > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(utf8, offset, length);
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
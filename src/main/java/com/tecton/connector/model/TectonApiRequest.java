@@ -1,5 +1,7 @@
 package com.tecton.connector.model;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -12,7 +14,10 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.tecton.connector.util.JsonUtil;
 
 /**
@@ -29,6 +34,9 @@ public class TectonApiRequest {
     private final boolean dryRun;
     @JsonProperty("records")
     private final Map<String, List<TectonRecord>> records;
+    // Not serialized: the range of Kafka timestamps of the records, if any had one
+    private final long minKafkaTimestamp;
+    private final long maxKafkaTimestamp;
 
     /**
      * Constructs a new TectonApiRequest.
@@ -41,9 +49,16 @@ public class TectonApiRequest {
     public TectonApiRequest(@JsonProperty("workspace_name") String workspaceName,
                             @JsonProperty("dry_run") boolean dryRun,
                             @JsonProperty("records") Map<String, List<TectonRecord>> records) {
+        this(workspaceName, dryRun, records, Long.MAX_VALUE, Long.MIN_VALUE);
+    }
+
+    private TectonApiRequest(String workspaceName, boolean dryRun, Map<String, List<TectonRecord>> records,
+                             long minKafkaTimestamp, long maxKafkaTimestamp) {
         this.workspaceName = Objects.requireNonNull(workspaceName, "Workspace name cannot be null.");
         this.dryRun = dryRun;
         this.records = Collections.unmodifiableMap(new HashMap<>(Objects.requireNonNull(records, "Records cannot be null.")));
+        this.minKafkaTimestamp = minKafkaTimestamp;
+        this.maxKafkaTimestamp = maxKafkaTimestamp;
     }
 
     /**
@@ -83,6 +98,94 @@ public class TectonApiRequest {
         return records.values().stream().mapToInt(List::size).sum();
     }
 
+    /**
+     * Returns whether the Kafka timestamps of the records are known. They are not serialized, so requests
+     * parsed with {@link #fromJson(byte[])} have none.
+     *
+     * @return true if at least one record had a Kafka timestamp.
+     */
+    @JsonIgnore
+    public boolean hasKafkaTimestamps() {
+        return minKafkaTimestamp <= maxKafkaTimestamp;
+    }
+
+    /**
+     * Gets the Kafka timestamp of the oldest record.
+     *
+     * @return the timestamp, only meaningful if {@link #hasKafkaTimestamps()}.
+     */
+    @JsonIgnore
+    public long getMinKafkaTimestamp() {
+        return minKafkaTimestamp;
+    }
+
+    /**
+     * Gets the Kafka timestamp of the newest record.
+     *
+     * @return the timestamp, only meaningful if {@link #hasKafkaTimestamps()}.
+     */
+    @JsonIgnore
+    public long getMaxKafkaTimestamp() {
+        return maxKafkaTimestamp;
+    }
+
+    /**
+     * Parses a serialized request, keeping each record as the raw JSON it was serialized to, so the request
+     * serializes back to the same records without their values being decoded.
+     *
+     * @param json the UTF-8 encoded request, as produced by {@link JsonUtil#toJsonBytes(Object)}.
+     * @return the request.
+     * @throws IOException if the JSON is malformed or is not a request.
+     */
+    public static TectonApiRequest fromJson(byte[] json) throws IOException {
+        Builder builder = new Builder();
+        try (JsonParser parser = JsonUtil.getObjectMapper().getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Request is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if ("workspace_name".equals(name)) {
+                    builder.workspaceName(parser.getText());
+                } else if ("dry_run".equals(name)) {
+                    builder.dryRun(parser.getBooleanValue());
+                } else if ("records".equals(name)) {
+                    parseRecords(parser, json, builder);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses the records object, slicing the JSON of each record out of the input.
+     */
+    private static void parseRecords(JsonParser parser, byte[] json, Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String pushSource = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Records of push source " + pushSource + " are not an array");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("record".equals(name)) {
+                        int start = (int) parser.getTokenLocation().getByteOffset();
+                        parser.skipChildren();
+                        int end = (int) parser.getCurrentLocation().getByteOffset();
+                        builder.addRecord(pushSource, TectonRecord.fromRawJson(Arrays.copyOfRange(json, start, end)));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public String toString() {
         try {
@@ -103,6 +206,8 @@ public class TectonApiRequest {
         private String workspaceName;
         private boolean dryRun;
         private final Map<String, List<TectonRecord>> records = new HashMap<>();
+        private long minKafkaTimestamp = Long.MAX_VALUE;
+        private long maxKafkaTimestamp = Long.MIN_VALUE;
 
         /**
          * Sets the workspace name.
@@ -141,13 +246,27 @@ public class TectonApiRequest {
             return this;
         }
 
+        /**
+         * Widens the range of Kafka timestamps of the request's records.
+         *
+         * @param timestamp the Kafka timestamp of a record, or null if it has none.
+         * @return this builder.
+         */
+        public Builder kafkaTimestamp(Long timestamp) {
+            if (timestamp != null) {
+                minKafkaTimestamp = Math.min(minKafkaTimestamp, timestamp);
+                maxKafkaTimestamp = Math.max(maxKafkaTimestamp, timestamp);
+            }
+            return this;
+        }
+
         /**
          * Builds a new {@link TectonApiRequest} instance.
          *
          * @return a new instance of {@link TectonApiRequest}.
          */
         public TectonApiRequest build() {
-            return new TectonApiRequest(workspaceName, dryRun, records);
+            return new TectonApiRequest(workspaceName, dryRun, records, minKafkaTimestamp, maxKafkaTimestamp);
         }
 
         /**
@@ -175,6 +294,8 @@ public class TectonApiRequest {
          */
         public Builder clearRecords() {
             records.clear();
+            minKafkaTimestamp = Long.MAX_VALUE;
+            maxKafkaTimestamp = Long.MIN_VALUE;
             return this;
         }
     }
@@ -1,20 +1,33 @@
 package com.tecton.connector.model;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
 import org.apache.kafka.connect.errors.DataException;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.tecton.connector.util.JsonUtil;
 
 /**
  * Represents a Tecton Record with associated Kafka metadata.
+ * <p>
+ * A record either holds a materialized map of its data, or the already validated UTF-8 JSON object it
+ * was read from. Raw JSON is written verbatim into the request body; the map is only built on demand.
  */
+@JsonSerialize(using = TectonRecordSerializer.class)
 public class TectonRecord {
 
-  @JsonProperty("record")
-  private final Map<String, Object> recordData;
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+
+  private final byte[] rawJson;
+  private final KafkaMetadata kafkaMetadata;
+  private volatile Map<String, Object> recordData;
+  private String routingValue;
+  private List<String> compactionKey;
+  private Long eventTime;
 
   /**
    * Constructs a new Tecton Record with the provided record data.
@@ -22,48 +35,236 @@ public class TectonRecord {
    * @param recordData The main record data. This data maps field names to their respective values.
    */
   public TectonRecord(final Map<String, Object> recordData) {
+    this(recordData, null);
+  }
+
+  /**
+   * Constructs a new Tecton Record with the provided record data and Kafka metadata.
+   *
+   * @param recordData    The main record data. This data maps field names to their respective values.
+   * @param kafkaMetadata The Kafka metadata to write alongside the record data, or null.
+   */
+  public TectonRecord(final Map<String, Object> recordData, final KafkaMetadata kafkaMetadata) {
     this.recordData = Objects.requireNonNull(recordData, "Record data cannot be null.");
+    this.rawJson = null;
+    this.kafkaMetadata = kafkaMetadata;
+  }
+
+  private TectonRecord(final byte[] rawJson, final KafkaMetadata kafkaMetadata) {
+    this.rawJson = Objects.requireNonNull(rawJson, "Raw JSON cannot be null.");
+    this.kafkaMetadata = kafkaMetadata;
+  }
+
+  /**
+   * Creates a Tecton Record backed by a serialized JSON object. The caller is responsible for having
+   * validated that the bytes hold a single JSON object of Tecton-compatible values.
+   *
+   * @param rawJson The UTF-8 encoded JSON object.
+   * @return A new Tecton Record.
+   */
+  public static TectonRecord fromRawJson(final byte[] rawJson) {
+    return new TectonRecord(rawJson, null);
   }
 
   /**
-   * Retrieves the main record data for this Tecton Record.
+   * Creates a Tecton Record backed by a serialized JSON object, with Kafka metadata.
+   *
+   * @param rawJson       The validated UTF-8 encoded JSON object.
+   * @param kafkaMetadata The Kafka metadata to write alongside the record data, or null.
+   * @return A new Tecton Record.
+   */
+  public static TectonRecord fromRawJson(final byte[] rawJson, final KafkaMetadata kafkaMetadata) {
+    return new TectonRecord(rawJson, kafkaMetadata);
+  }
+
+  /**
+   * Retrieves the main record data for this Tecton Record, parsing the raw JSON on first use.
    *
    * @return A map representing the record's data.
+   * @throws DataException If the raw JSON cannot be parsed.
    */
-  public Map<String, Object> getRecordData() {
-    return recordData;
+  @JsonIgnore
+  public Map<String, Object> getRecordData() throws DataException {
+    Map<String, Object> data = recordData;
+    if (data == null) {
+      try {
+        data = JsonUtil.getObjectMapper().readValue(rawJson, MAP_TYPE);
+      } catch (IOException e) {
+        throw new DataException("Failed to parse raw JSON of TectonRecord.", e);
+      }
+      recordData = data;
+    }
+    return data;
+  }
+
+  /**
+   * Indicates whether this record is backed by serialized JSON.
+   *
+   * @return True if the record holds raw JSON; false otherwise.
+   */
+  @JsonIgnore
+  public boolean hasRawJson() {
+    return rawJson != null;
+  }
+
+  /**
+   * Retrieves the serialized JSON backing this record.
+   *
+   * @return The UTF-8 encoded JSON object, or null if the record was built from a map.
+   */
+  @JsonIgnore
+  public byte[] getRawJson() {
+    return rawJson;
+  }
+
+  /**
+   * Retrieves the Kafka metadata written alongside the record data.
+   *
+   * @return The Kafka metadata, or null if none is included.
+   */
+  @JsonIgnore
+  public KafkaMetadata getKafkaMetadata() {
+    return kafkaMetadata;
+  }
+
+  /**
+   * Retrieves the value of the field that content-based routing rules match against.
+   *
+   * @return The routing value, or null if no routing field is configured or the record lacks it.
+   */
+  @JsonIgnore
+  public String getRoutingValue() {
+    return routingValue;
+  }
+
+  /**
+   * Sets the routing value, as extracted while the record was converted. It is not serialized.
+   *
+   * @param routingValue The routing value, or null.
+   */
+  public void setRoutingValue(final String routingValue) {
+    this.routingValue = routingValue;
+  }
+
+  /**
+   * Retrieves the values of the compaction key fields, as normalised text.
+   *
+   * @return The key, or null if compaction by fields is disabled or the record has none of them.
+   */
+  @JsonIgnore
+  public List<String> getCompactionKey() {
+    return compactionKey;
+  }
+
+  /**
+   * Sets the compaction key, as extracted while the record was converted. It is not serialized.
+   *
+   * @param compactionKey The key, or null.
+   */
+  public void setCompactionKey(final List<String> compactionKey) {
+    this.compactionKey = compactionKey;
+  }
+
+  /**
+   * Retrieves the event time checked against the maximum event age of the record's push source.
+   *
+   * @return The event time in epoch milliseconds, or null if no event time field applies or the record lacks it.
+   */
+  @JsonIgnore
+  public Long getEventTime() {
+    return eventTime;
+  }
+
+  /**
+   * Sets the event time, as extracted while the record was converted. It is not serialized.
+   *
+   * @param eventTime The event time in epoch milliseconds, or null.
+   */
+  public void setEventTime(final Long eventTime) {
+    this.eventTime = eventTime;
   }
 
   /**
    * Determines if the record data is valid. A valid record data is one where all values are either
-   * of primitive type, List, or Map.
+   * of primitive type, List, or Map. Raw JSON records are validated when they are created.
    *
    * @return True if the record data is valid; false otherwise.
    */
   @JsonIgnore
   public boolean isValid() {
-    return recordData.values().stream().allMatch(TectonRecord::isValidTectonValue);
+    return isValid(Integer.MAX_VALUE, Integer.MAX_VALUE);
   }
 
   /**
-   * Checks if the given value adheres to the valid types accepted by Tecton.
+   * Determines if the record data is valid and within the given limits. The record data itself is at
+   * depth 1, and every field, list element and map entry counts as one value.
    *
-   * @param value The object to be checked.
-   * @return True if the object is a valid Tecton type; false otherwise.
+   * @param maxDepth  The maximum nesting depth of maps and lists.
+   * @param maxValues The maximum number of values in the whole record.
+   * @return True if the record data is valid and within the limits; false otherwise.
    */
-  private static boolean isValidTectonValue(final Object value) {
+  public boolean isValid(final int maxDepth, final int maxValues) {
+    if (rawJson != null) {
+      return true;
+    }
+    return validMap(recordData, 1, maxDepth, maxValues) >= 0;
+  }
+
+  /**
+   * Validates a map and its values in a single traversal. Returns the remaining value budget, or -1 if
+   * the map is invalid or exceeds the limits.
+   */
+  private static int validMap(final Map<?, ?> map, final int depth, final int maxDepth, int budget) {
+    if (depth > maxDepth) {
+      return -1;
+    }
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      if (!(entry.getKey() instanceof String)) {
+        return -1;
+      }
+      budget = validValue(entry.getValue(), depth, maxDepth, budget);
+      if (budget < 0) {
+        return -1;
+      }
+    }
+    return budget;
+  }
+
+  /**
+   * Checks if the given value adheres to the valid types accepted by Tecton. Returns the remaining
+   * value budget, or -1 if the value is invalid or exceeds the limits.
+   */
+  private static int validValue(final Object value, final int depth, final int maxDepth, int budget) {
+    if (--budget < 0) {
+      return -1;
+    }
     if (value == null || value instanceof String || value instanceof Number
         || value instanceof Boolean) {
-      return true;
+      return budget;
     }
     if (value instanceof List) {
-      return ((List<?>) value).stream().allMatch(TectonRecord::isValidTectonValue);
+      if (depth + 1 > maxDepth) {
+        return -1;
+      }
+      final List<?> list = (List<?>) value;
+      if (list instanceof RandomAccess) {
+        for (int i = 0, size = list.size(); i < size && budget >= 0; i++) {
+          budget = validValue(list.get(i), depth + 1, maxDepth, budget);
+        }
+      } else {
+        for (Object element : list) {
+          budget = validValue(element, depth + 1, maxDepth, budget);
+          if (budget < 0) {
+            break;
+          }
+        }
+      }
+      return budget;
     }
     if (value instanceof Map) {
-      return ((Map<?, ?>) value).keySet().stream().allMatch(key -> key instanceof String)
-          && ((Map<?, ?>) value).values().stream().allMatch(TectonRecord::isValidTectonValue);
+      return validMap((Map<?, ?>) value, depth + 1, maxDepth, budget);
     }
-    return false;
+    return -1;
   }
 
   /**
@@ -0,0 +1,89 @@
+package com.tecton.connector.model;
+
+import java.io.IOException;
+import java.util.Map;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializes a {@link TectonRecord} as {@code {"record": {...}}}. Records holding raw JSON are embedded
+ * verbatim, without being materialized into a Map first. Kafka metadata is appended to the record
+ * object as it is written.
+ */
+class TectonRecordSerializer extends StdSerializer<TectonRecord> {
+
+    private static final long serialVersionUID = 1L;
+    private static final String RECORD_FIELD = "record";
+
+    TectonRecordSerializer() {
+        super(TectonRecord.class);
+    }
+
+    @Override
+    public void serialize(TectonRecord record, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(RECORD_FIELD);
+        KafkaMetadata metadata = record.getKafkaMetadata();
+        if (metadata != null && !record.hasRawJson()) {
+            // Raw JSON records are checked as they are converted
+            metadata = metadata.shadowedBy(record.getRecordData());
+        }
+        if (metadata != null && !metadata.hasFields()) {
+            metadata = null;
+        }
+        if (record.hasRawJson()) {
+            byte[] rawJson = record.getRawJson();
+            if (metadata == null) {
+                gen.writeRawValue(new RawJsonValue(rawJson, 0, rawJson.length));
+            } else {
+                writeRawJsonWithMetadata(rawJson, metadata, gen, provider);
+            }
+        } else if (metadata == null) {
+            provider.defaultSerializeValue(record.getRecordData(), gen);
+        } else {
+            gen.writeStartObject();
+            for (Map.Entry<String, Object> entry : record.getRecordData().entrySet()) {
+                gen.writeFieldName(entry.getKey());
+                provider.defaultSerializeValue(entry.getValue(), gen);
+            }
+            metadata.writeFields(gen, provider);
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes the members of a raw JSON object verbatim, followed by the metadata fields, inside a single
+     * object. The raw JSON has already been validated, so its outermost braces are the first and last
+     * non-whitespace bytes.
+     */
+    private static void writeRawJsonWithMetadata(byte[] rawJson, KafkaMetadata metadata, JsonGenerator gen,
+                                                 SerializerProvider provider) throws IOException {
+        int open = 0;
+        while (rawJson[open] != '{') {
+            open++;
+        }
+        int close = rawJson.length - 1;
+        while (rawJson[close] != '}') {
+            close--;
+        }
+        int membersStart = open + 1;
+        while (membersStart < close && isWhitespace(rawJson[membersStart])) {
+            membersStart++;
+        }
+
+        gen.writeStartObject();
+        if (membersStart < close) {
+            gen.writeRaw(new RawJsonValue(rawJson, membersStart, close - membersStart));
+            // The generator does not know about the raw members, so separate the metadata explicitly
+            gen.writeRaw(',');
+        }
+        metadata.writeFields(gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+}
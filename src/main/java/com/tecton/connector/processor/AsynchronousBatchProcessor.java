@@ -1,63 +1,163 @@
 package com.tecton.connector.processor;
 
+import java.util.Collections;
 import java.util.List;
-import org.apache.kafka.connect.sink.SinkRecord;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.connect.errors.RetriableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.tecton.connector.client.HttpClient;
-import com.tecton.connector.converter.RecordConverter;
 import com.tecton.connector.error.ConnectorException;
+import com.tecton.connector.error.HttpClientException;
 import com.tecton.connector.model.TectonApiRequest;
-import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.model.TectonApiResponse;
+import com.tecton.connector.routing.Route;
+import com.tecton.connector.spill.SpillLog;
 import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
 
 /**
  * Processes batches asynchronously.
+ * <p>
+ * Batches in flight are tracked until they are acknowledged, spilled or given up on, and {@link #flush()}
+ * waits for them, so offsets are not committed for records that are still being sent. A batch that can be
+ * neither sent nor spilled, because the spill log is full, fails the following put() and flush() with a
+ * retriable error, so its offsets are not committed and Connect delivers its records again.
  */
 public class AsynchronousBatchProcessor implements BatchProcessingStrategy {
 
     private static final Logger LOG = LoggerFactory.getLogger(AsynchronousBatchProcessor.class);
 
     private final TectonHttpSinkConnectorConfig config;
-    private final RecordConverter converter;
     private final HttpClient httpClient;
     private final ErrorHandler errorHandler;
+    private final SpillLog spillLog;
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<RetriableException> unspilled = new AtomicReference<>();
 
     public AsynchronousBatchProcessor(TectonHttpSinkConnectorConfig config,
-                                      RecordConverter converter,
                                       HttpClient httpClient,
-                                      ErrorHandler errorHandler) {
+                                      ErrorHandler errorHandler,
+                                      SpillLog spillLog) {
         this.config = config;
-        this.converter = converter;
         this.httpClient = httpClient;
         this.errorHandler = errorHandler;
+        this.spillLog = spillLog;
     }
 
     @Override
-    public void process(List<SinkRecord> records) {
-        try {
-            TectonApiRequest request = buildRequest(records);
-            httpClient.sendAsync(request)
-                    .thenAccept(response -> LOG.info("Successfully sent batch of {} records", records.size()))
-                    .exceptionally(ex -> {
+    public void process(List<ConvertedRecord> records) {
+        processAll(Collections.singletonList(records));
+    }
+
+    /**
+     * Dispatches the batches of a put(). Only the first batch may fail the put() for lack of buffer memory:
+     * once a batch is dispatched, failing would deliver its records again, so the following batches wait for
+     * the batches in flight to release memory instead.
+     */
+    @Override
+    public void processAll(List<List<ConvertedRecord>> batches) {
+        RetriableException failure = unspilled.get();
+        if (failure != null) {
+            // Kept until flush() fails too, so the offsets of the lost batch are not committed
+            throw failure;
+        }
+        for (int i = 0; i < batches.size(); i++) {
+            send(batches.get(i), i > 0);
+        }
+    }
+
+    private void send(List<ConvertedRecord> records, boolean dispatchedEarlier) {
+        TectonApiRequest request = buildRequest(records);
+        if (spillLog != null && !spillLog.isEmpty()) {
+            // Queued behind the batches waiting to be replayed, until the log is drained
+            try {
+                spillLog.append(request);
+            } catch (ConnectorException e) {
+                throw new RetriableException(e.getMessage(), e);
+            }
+            return;
+        }
+
+        // The callback only refers to the request, so the SinkRecords are not held while it is in flight
+        CompletableFuture<Void> sent = (dispatchedEarlier ? sendWhenBuffered(request) : httpClient.sendAsync(request))
+                .handle((response, ex) -> {
+                    if (ex == null) {
+                        LOG.debug("Successfully sent batch of {} records", request.getRecordCount());
+                    } else if (!spill(request, ex)) {
                         errorHandler.handle(ex);
-                        return null;
-                    });
-            // Optionally wait for completion or manage futures as needed
+                    }
+                    return null;
+                });
+        inFlight.add(sent);
+        sent.whenComplete((ignored, ex) -> inFlight.remove(sent));
+    }
+
+    /**
+     * Sends a batch however long it waits for buffer memory, which the batches in flight release as they
+     * complete.
+     */
+    private CompletableFuture<TectonApiResponse> sendWhenBuffered(TectonApiRequest request) {
+        while (true) {
+            try {
+                return httpClient.sendAsync(request);
+            } catch (RetriableException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                LOG.warn("Still waiting for buffer memory to send a batch of {} records: {}",
+                        request.getRecordCount(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            // Batches that could not be spilled are recorded below
+        }
+        RetriableException failure = unspilled.getAndSet(null);
+        if (failure != null) {
+            // Connect rewinds to the last committed offsets, delivering the lost batch's records again
+            throw failure;
+        }
+    }
+
+    /**
+     * Spills a batch that failed with a transient error, returning whether it was spilled. If the spill log
+     * is full, the batch's future fails, and so do the following put() and flush().
+     */
+    private boolean spill(TectonApiRequest request, Throwable ex) {
+        if (spillLog == null || !(ex instanceof HttpClientException) || !((HttpClientException) ex).isRetriable()) {
+            return false;
+        }
+        try {
+            spillLog.append(request);
+            LOG.warn("Spilled batch of {} records for later replay", request.getRecordCount());
+            return true;
         } catch (ConnectorException e) {
-            errorHandler.handle(e);
+            RetriableException failure = new RetriableException("Failed to spill batch of " + request.getRecordCount()
+                    + " records: " + e.getMessage(), e);
+            unspilled.compareAndSet(null, failure);
+            throw new CompletionException(failure);
         }
     }
 
-    private TectonApiRequest buildRequest(List<SinkRecord> records) throws ConnectorException {
+    private TectonApiRequest buildRequest(List<ConvertedRecord> records) {
+        // Batches are built per route, so every record shares the workspace and push source
+        Route route = records.get(0).getRoute();
         TectonApiRequest.Builder builder = new TectonApiRequest.Builder()
-                .workspaceName(config.workspaceName)
+                .workspaceName(route.getWorkspaceName())
                 .dryRun(config.dryRunEnabled);
 
-        for (SinkRecord record : records) {
-            TectonRecord tectonRecord = converter.convert(record);
-            String pushSource = config.pushSourceName != null ? config.pushSourceName : record.topic();
-            builder.addRecord(pushSource, tectonRecord);
+        for (ConvertedRecord record : records) {
+            builder.addRecord(route.getPushSource(), record.getTectonRecord());
+            builder.kafkaTimestamp(record.getSinkRecord().timestamp());
         }
 
         return builder.build();
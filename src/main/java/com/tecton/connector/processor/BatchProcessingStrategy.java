@@ -1,7 +1,5 @@
 package com.tecton.connector.processor;
 
-import org.apache.kafka.connect.sink.SinkRecord;
-
 import java.util.List;
 
 /**
@@ -10,9 +8,44 @@ import java.util.List;
 public interface BatchProcessingStrategy {
 
     /**
-     * Processes a batch of SinkRecords.
+     * Processes a batch of converted records.
+     *
+     * @param records The list of converted records to process.
+     */
+    void process(List<ConvertedRecord> records);
+
+    /**
+     * Processes all batches produced by a single put(). By default batches are processed one after another.
      *
-     * @param records The list of SinkRecords to process.
+     * @param batches The batches to process, in order.
+     */
+    default void processAll(List<List<ConvertedRecord>> batches) {
+        for (List<ConvertedRecord> batch : batches) {
+            process(batch);
+        }
+    }
+
+    /**
+     * Waits until every batch processed so far has been acknowledged, spilled or given up on. Batches are
+     * complete once processed by default.
+     */
+    default void flush() {
+        // Nothing in flight by default
+    }
+
+    /**
+     * Changes the maximum number of batches sent concurrently, for strategies that send batches in parallel.
+     *
+     * @param concurrencyLimit The new limit.
+     */
+    default void setConcurrencyLimit(int concurrencyLimit) {
+        // Batches are sent one at a time by default
+    }
+
+    /**
+     * Releases any resources held by the strategy.
      */
-    void process(List<SinkRecord> records);
+    default void close() {
+        // Nothing to release by default
+    }
 }
@@ -2,7 +2,13 @@ package com.tecton.connector.processor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
 import org.apache.kafka.connect.sink.ErrantRecordReporter;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
@@ -12,6 +18,12 @@ import com.tecton.connector.converter.RecordConverter;
 import com.tecton.connector.error.ConnectorException;
 import com.tecton.connector.error.InvalidRecordException;
 import com.tecton.connector.error.SerializationException;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Route;
+import com.tecton.connector.routing.Router;
+import com.tecton.connector.spill.SpillDrainer;
+import com.tecton.connector.spill.SpillLog;
 import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
 
 /**
@@ -21,33 +33,59 @@ public class BatchRecordProcessor implements RecordProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(BatchRecordProcessor.class);
 
+    // Number of records below which a conversion task is not split any further
+    private static final int CONVERSION_CHUNK_SIZE = 256;
+
     private final TectonHttpSinkConnectorConfig config;
     private final RecordConverter converter;
+    private final Router router;
     private final HttpClient httpClient;
     private final ErrorHandler errorHandler;
     private final ErrantRecordReporter errantRecordReporter;
     private final BatchProcessingStrategy processingStrategy;
+    private final ForkJoinPool conversionPool;
+    private final RecordCompactor compactor;
+    private final SpillLog spillLog;
+    private final SpillDrainer spillDrainer;
+    private final CatchUpController catchUpController;
+    private final StaleRecordFilter staleRecordFilter;
 
     /**
      * Constructs a BatchRecordProcessor.
      *
      * @param config               The connector configuration.
      * @param converter            The record converter.
+     * @param router               The router resolving the route of each record.
      * @param httpClient           The HTTP client.
      * @param errorHandler         The error handler.
      * @param errantRecordReporter The errant record reporter.
+     * @param metrics              The metrics of the task.
+     * @param spillLog             The log batches failing with transient errors are spilled to, or null.
      */
     public BatchRecordProcessor(TectonHttpSinkConnectorConfig config,
                                 RecordConverter converter,
+                                Router router,
                                 HttpClient httpClient,
                                 ErrorHandler errorHandler,
-                                ErrantRecordReporter errantRecordReporter) {
+                                ErrantRecordReporter errantRecordReporter,
+                                ConnectorMetrics metrics,
+                                SpillLog spillLog) {
         this.config = config;
         this.converter = converter;
+        this.router = router;
         this.httpClient = httpClient;
         this.errorHandler = errorHandler;
         this.errantRecordReporter = errantRecordReporter;
+        this.spillLog = spillLog;
         this.processingStrategy = createProcessingStrategy();
+        this.conversionPool = createConversionPool();
+        this.compactor = config.compactionEnabled ? new RecordCompactor(config.compactionKeyFields) : null;
+        this.catchUpController = config.catchUpEnabled ? new CatchUpController(config) : null;
+        this.staleRecordFilter = config.maxEventAgeEnabled() ? new StaleRecordFilter(config, router, metrics) : null;
+        this.spillDrainer = spillLog != null
+                ? new SpillDrainer(spillLog, httpClient, errorHandler, config.httpConcurrencyLimit,
+                        config.spillDrainBackoffMs)
+                : null;
     }
 
     @Override
@@ -57,31 +95,129 @@ public class BatchRecordProcessor implements RecordProcessor {
             return;
         }
 
-        LOG.info("Processing {} records", records.size());
-        List<SinkRecord> validRecords = new ArrayList<>();
-        for (SinkRecord record : records) {
-            try {
-                converter.convert(record); // Validate conversion
-                validRecords.add(record);
-            } catch (InvalidRecordException | SerializationException e) {
-                handleErrantRecord(record, e);
+        LOG.debug("Processing {} records", records.size());
+        SinkRecord[] sinkRecords = records.toArray(new SinkRecord[0]);
+        Object[] results = convertAll(sinkRecords);
+
+        // Walk the results in delivery order so batches and errant record reports stay deterministic
+        long now = System.currentTimeMillis();
+        List<ConvertedRecord> validRecords = new ArrayList<>(sinkRecords.length);
+        int stale = 0;
+        for (int i = 0; i < sinkRecords.length; i++) {
+            Object result = results[i];
+            if (result instanceof TectonRecord) {
+                SinkRecord sinkRecord = sinkRecords[i];
+                TectonRecord tectonRecord = (TectonRecord) result;
+                if (staleRecordFilter != null && isStale(sinkRecord, tectonRecord, now)) {
+                    stale++;
+                    continue;
+                }
+                validRecords.add(new ConvertedRecord(sinkRecord, tectonRecord,
+                        router.route(sinkRecord.topic(), tectonRecord.getRoutingValue())));
+            } else if (result instanceof InvalidRecordException || result instanceof SerializationException) {
+                handleErrantRecord(sinkRecords[i], (Exception) result);
+            } else {
+                throw (RuntimeException) result;
             }
         }
 
+        if (stale > 0) {
+            LOG.debug("Skipped {} of {} records older than the maximum event age", stale, sinkRecords.length);
+        }
         if (validRecords.isEmpty()) {
-            LOG.warn("No valid records to process after validation");
+            if (stale < sinkRecords.length) {
+                LOG.warn("No valid records to process after validation");
+            }
             return;
         }
-
-        List<List<SinkRecord>> batches = partitionRecords(validRecords, config.batchMaxSize);
-        for (List<SinkRecord> batch : batches) {
-            processingStrategy.process(batch);
+        if (catchUpController != null && catchUpController.update(sinkRecordsOf(validRecords))) {
+            applyCatchUpMode(catchUpController.isCatchingUp());
         }
+
+        List<List<ConvertedRecord>> batches = partitionRecords(validRecords);
+        processingStrategy.processAll(batches);
+    }
+
+    @Override
+    public void flush() {
+        processingStrategy.flush();
     }
 
     @Override
     public void close() {
-        // Close resources if necessary
+        if (spillDrainer != null) {
+            spillDrainer.close();
+        }
+        processingStrategy.close();
+        if (conversionPool != null) {
+            conversionPool.shutdown();
+            try {
+                conversionPool.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Switches sending between the low-latency settings and the throughput-oriented catch-up ones. Batch
+     * sizes are chosen per put() in {@link #partitionRecords(List)}.
+     */
+    private void applyCatchUpMode(boolean catchingUp) {
+        int concurrencyLimit = catchingUp ? config.catchUpConcurrencyLimit : config.httpConcurrencyLimit;
+        processingStrategy.setConcurrencyLimit(concurrencyLimit);
+        httpClient.setConcurrencyLimit(concurrencyLimit);
+        httpClient.setCompressionEnabled(catchingUp && config.catchUpGzipEnabled);
+    }
+
+    /**
+     * Returns whether a converted record is older than the maximum event age of its push source, reporting
+     * it to the dead letter queue if enabled. Its offset is committed with the rest of the put().
+     */
+    private boolean isStale(SinkRecord record, TectonRecord tectonRecord, long now) {
+        long age = staleRecordFilter.staleAge(record, tectonRecord, now);
+        if (age < 0) {
+            return false;
+        }
+        if (config.maxEventAgeDlqEnabled && errantRecordReporter != null) {
+            errantRecordReporter.report(record, new InvalidRecordException(
+                    "Skipped record from topic " + record.topic() + " whose event is " + age + " ms old"));
+        }
+        return true;
+    }
+
+    private static SinkRecord[] sinkRecordsOf(List<ConvertedRecord> records) {
+        SinkRecord[] sinkRecords = new SinkRecord[records.size()];
+        for (int i = 0; i < sinkRecords.length; i++) {
+            sinkRecords[i] = records.get(i).getSinkRecord();
+        }
+        return sinkRecords;
+    }
+
+    /**
+     * Converts every record, in parallel when the put() is large enough. Each slot of the returned array
+     * holds either the TectonRecord or the exception thrown while converting the record at that index.
+     */
+    private Object[] convertAll(SinkRecord[] records) {
+        Object[] results = new Object[records.length];
+        if (conversionPool != null && records.length >= config.conversionParallelThreshold) {
+            LOG.debug("Converting {} records on {} threads", records.length, conversionPool.getParallelism());
+            conversionPool.invoke(new ConversionTask(converter, records, results, 0, records.length));
+        } else {
+            convertRange(converter, records, results, 0, records.length);
+        }
+        return results;
+    }
+
+    private static void convertRange(RecordConverter converter, SinkRecord[] records, Object[] results,
+                                     int from, int to) {
+        for (int i = from; i < to; i++) {
+            try {
+                results[i] = converter.convert(records[i]);
+            } catch (InvalidRecordException | SerializationException | RuntimeException e) {
+                results[i] = e;
+            }
+        }
     }
 
     private void handleErrantRecord(SinkRecord record, Exception e) {
@@ -93,19 +229,87 @@ public class BatchRecordProcessor implements RecordProcessor {
         }
     }
 
-    private List<List<SinkRecord>> partitionRecords(List<SinkRecord> records, int batchSize) {
-        List<List<SinkRecord>> batches = new ArrayList<>();
-        for (int i = 0; i < records.size(); i += batchSize) {
-            batches.add(records.subList(i, Math.min(i + batchSize, records.size())));
+    /**
+     * Groups the records by route, keeping their order within each route, compacts each group if enabled,
+     * and splits it into batches of at most the route's batch size (or the catch-up one, if larger), so a
+     * request never mixes push sources.
+     */
+    private List<List<ConvertedRecord>> partitionRecords(List<ConvertedRecord> records) {
+        Map<Route, List<ConvertedRecord>> recordsByRoute = new LinkedHashMap<>();
+        for (ConvertedRecord record : records) {
+            recordsByRoute.computeIfAbsent(record.getRoute(), route -> new ArrayList<>()).add(record);
+        }
+
+        List<List<ConvertedRecord>> batches = new ArrayList<>();
+        for (Map.Entry<Route, List<ConvertedRecord>> entry : recordsByRoute.entrySet()) {
+            List<ConvertedRecord> routeRecords = entry.getValue();
+            if (compactor != null) {
+                int received = routeRecords.size();
+                routeRecords = compactor.compact(routeRecords);
+                LOG.debug("Compacted {} records to {} for route {}", received, routeRecords.size(), entry.getKey().getName());
+            }
+            int batchSize = entry.getKey().getBatchMaxSize();
+            if (catchUpController != null && catchUpController.isCatchingUp()) {
+                batchSize = Math.max(batchSize, config.catchUpBatchMaxSize);
+            }
+            for (int i = 0; i < routeRecords.size(); i += batchSize) {
+                batches.add(routeRecords.subList(i, Math.min(i + batchSize, routeRecords.size())));
+            }
         }
         return batches;
     }
 
     private BatchProcessingStrategy createProcessingStrategy() {
         if (config.httpAsyncEnabled) {
-            return new AsynchronousBatchProcessor(config, converter, httpClient, errorHandler);
+            return new AsynchronousBatchProcessor(config, httpClient, errorHandler, spillLog);
+        } else if (config.httpSyncParallelEnabled) {
+            return new ParallelSynchronousBatchProcessor(config, httpClient, errorHandler, spillLog);
         } else {
-            return new SynchronousBatchProcessor(config, converter, httpClient, errorHandler);
+            return new SynchronousBatchProcessor(config, httpClient, errorHandler, spillLog);
+        }
+    }
+
+    private ForkJoinPool createConversionPool() {
+        if (config.conversionParallelThreshold <= 0 || config.conversionParallelism <= 1) {
+            return null;
+        }
+        return new ForkJoinPool(config.conversionParallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("tecton-convert-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Splits a range of records until it is small enough to convert directly.
+     */
+    private static final class ConversionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RecordConverter converter;
+        private final SinkRecord[] records;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+
+        ConversionTask(RecordConverter converter, SinkRecord[] records, Object[] results, int from, int to) {
+            this.converter = converter;
+            this.records = records;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CONVERSION_CHUNK_SIZE) {
+                convertRange(converter, records, results, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ConversionTask(converter, records, results, from, mid),
+                    new ConversionTask(converter, records, results, mid, to));
         }
     }
 }
@@ -0,0 +1,72 @@
+package com.tecton.connector.processor;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+/**
+ * Detects when the task is working through a backlog, from how old the records of each put() are and how
+ * many there are, so it can trade latency for throughput until it has caught up.
+ * <p>
+ * Catch-up starts when the oldest record is older than the lag threshold (or the put() reaches the size
+ * threshold) and only ends once the oldest record is within the freshness SLO, which is lower, so the
+ * mode does not flap around a single threshold.
+ */
+final class CatchUpController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatchUpController.class);
+
+    private final long lagThresholdMs;
+    private final long freshnessSloMs;
+    private final int putSizeThreshold;
+    private boolean catchingUp;
+
+    /**
+     * Constructs a CatchUpController.
+     *
+     * @param config The connector configuration.
+     */
+    CatchUpController(TectonHttpSinkConnectorConfig config) {
+        this.lagThresholdMs = config.catchUpLagThresholdMs;
+        this.freshnessSloMs = config.catchUpFreshnessSloMs;
+        this.putSizeThreshold = config.catchUpPutSizeThreshold;
+    }
+
+    /**
+     * Updates the mode from the records of a put().
+     *
+     * @param records The records of the put().
+     * @return True if the mode changed.
+     */
+    boolean update(SinkRecord[] records) {
+        long oldest = Long.MAX_VALUE;
+        for (SinkRecord record : records) {
+            Long timestamp = record.timestamp();
+            if (timestamp != null && timestamp < oldest) {
+                oldest = timestamp;
+            }
+        }
+        long lagMs = oldest == Long.MAX_VALUE ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+        boolean large = putSizeThreshold > 0 && records.length >= putSizeThreshold;
+
+        if (!catchingUp && (lagMs > lagThresholdMs || large)) {
+            catchingUp = true;
+            LOG.info("Entering catch-up mode: oldest record is {} ms old in a put() of {} records", lagMs, records.length);
+            return true;
+        }
+        if (catchingUp && lagMs <= freshnessSloMs && !large) {
+            catchingUp = false;
+            LOG.info("Leaving catch-up mode: oldest record is {} ms old in a put() of {} records", lagMs, records.length);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the task is catching up.
+     */
+    boolean isCatchingUp() {
+        return catchingUp;
+    }
+}
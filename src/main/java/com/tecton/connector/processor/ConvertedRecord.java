@@ -0,0 +1,57 @@
+package com.tecton.connector.processor;
+
+import java.util.Objects;
+import org.apache.kafka.connect.sink.SinkRecord;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Route;
+
+/**
+ * Pairs a SinkRecord with the TectonRecord it was converted to, so records are converted only once, and
+ * with the route it is sent through.
+ */
+public final class ConvertedRecord {
+
+    private final SinkRecord sinkRecord;
+    private final TectonRecord tectonRecord;
+    private final Route route;
+
+    /**
+     * Constructs a ConvertedRecord.
+     *
+     * @param sinkRecord   The original SinkRecord.
+     * @param tectonRecord The converted TectonRecord.
+     * @param route        The route of the record.
+     */
+    public ConvertedRecord(SinkRecord sinkRecord, TectonRecord tectonRecord, Route route) {
+        this.sinkRecord = Objects.requireNonNull(sinkRecord, "Sink record cannot be null.");
+        this.tectonRecord = Objects.requireNonNull(tectonRecord, "Tecton record cannot be null.");
+        this.route = Objects.requireNonNull(route, "Route cannot be null.");
+    }
+
+    /**
+     * Returns the original SinkRecord.
+     *
+     * @return the SinkRecord.
+     */
+    public SinkRecord getSinkRecord() {
+        return sinkRecord;
+    }
+
+    /**
+     * Returns the converted TectonRecord.
+     *
+     * @return the TectonRecord.
+     */
+    public TectonRecord getTectonRecord() {
+        return tectonRecord;
+    }
+
+    /**
+     * Returns the route of the record.
+     *
+     * @return the Route.
+     */
+    public Route getRoute() {
+        return route;
+    }
+}
@@ -0,0 +1,114 @@
+package com.tecton.connector.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.tecton.connector.client.HttpClient;
+import com.tecton.connector.spill.SpillLog;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+/**
+ * Processes the batches of a put() concurrently, while still waiting for every batch to complete
+ * before returning. Error handling per batch is the same as {@link SynchronousBatchProcessor}.
+ */
+public class ParallelSynchronousBatchProcessor extends SynchronousBatchProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelSynchronousBatchProcessor.class);
+
+    private volatile int concurrencyLimit;
+    private final ExecutorService executor;
+
+    public ParallelSynchronousBatchProcessor(TectonHttpSinkConnectorConfig config,
+                                             HttpClient httpClient,
+                                             ErrorHandler errorHandler,
+                                             SpillLog spillLog) {
+        super(config, httpClient, errorHandler, spillLog);
+        this.concurrencyLimit = config.httpConcurrencyLimit;
+        // Sized for catch-up, if enabled; the number of batches in flight is bounded by the current limit
+        this.executor = SendExecutors.newSendExecutor(config.catchUpEnabled
+                ? Math.max(concurrencyLimit, config.catchUpConcurrencyLimit)
+                : concurrencyLimit);
+        LOG.info("Parallel synchronous sending enabled using {} (concurrency limit {})",
+                SendExecutors.description(), concurrencyLimit);
+    }
+
+    @Override
+    public void processAll(List<List<ConvertedRecord>> batches) {
+        if (batches.size() <= 1) {
+            super.processAll(batches);
+            return;
+        }
+
+        int limit = concurrencyLimit;
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> futures = new ArrayList<>(batches.size());
+        RuntimeException failure = null;
+        int submitted = 0;
+        int completed = 0;
+        try {
+            while (completed < batches.size()) {
+                // Keep at most limit batches in flight
+                while (submitted < batches.size() && submitted - completed < limit) {
+                    List<ConvertedRecord> batch = batches.get(submitted++);
+                    futures.add(completionService.submit(() -> {
+                        process(batch);
+                        return null;
+                    }));
+                }
+                failure = awaitNext(completionService, failure);
+                completed++;
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new ConnectException("Interrupted while waiting for batches to be sent", e);
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private RuntimeException awaitNext(CompletionService<Void> completionService, RuntimeException failure)
+            throws InterruptedException {
+        try {
+            completionService.take().get();
+            return failure;
+        } catch (ExecutionException e) {
+            // Let the remaining batches finish before surfacing the first unexpected failure
+            if (failure != null) {
+                return failure;
+            }
+            Throwable cause = e.getCause();
+            return cause instanceof RuntimeException
+                    ? (RuntimeException) cause
+                    : new ConnectException("Unexpected error while sending batch", cause);
+        }
+    }
+
+    @Override
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
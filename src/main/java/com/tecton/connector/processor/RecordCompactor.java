@@ -0,0 +1,68 @@
+package com.tecton.connector.processor;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps only the latest record per key among the records of a route, so entities updated many times per
+ * put() are written once.
+ * <p>
+ * Records are keyed by the values of the configured entity key fields, compared as text and captured
+ * while the records were converted, or, when none are configured, by their Kafka key. Records without a key are always kept. Kept records stay in delivery order, at the
+ * position of the latest record of their key. Dropped records need no special handling: their offsets are
+ * committed along with the rest of the put() once it returns.
+ */
+final class RecordCompactor {
+
+    private final List<String> keyFields;
+
+    /**
+     * Constructs a RecordCompactor.
+     *
+     * @param keyFields The record fields forming the entity key, or an empty list to use the Kafka key.
+     */
+    RecordCompactor(List<String> keyFields) {
+        this.keyFields = keyFields;
+    }
+
+    /**
+     * Compacts the records of a single route.
+     *
+     * @param records The records, in delivery order.
+     * @return The latest record of each key and every record without a key, in delivery order.
+     */
+    List<ConvertedRecord> compact(List<ConvertedRecord> records) {
+        if (records.size() < 2) {
+            return records;
+        }
+        // Walk backwards so the first record seen for a key is its latest one
+        Set<Object> seen = new HashSet<>();
+        List<ConvertedRecord> kept = new ArrayList<>(records.size());
+        for (int i = records.size() - 1; i >= 0; i--) {
+            ConvertedRecord record = records.get(i);
+            Object key = keyOf(record);
+            if (key == null || seen.add(key)) {
+                kept.add(record);
+            }
+        }
+        if (kept.size() == records.size()) {
+            return records;
+        }
+        Collections.reverse(kept);
+        return kept;
+    }
+
+    private Object keyOf(ConvertedRecord record) {
+        if (keyFields.isEmpty()) {
+            Object key = record.getSinkRecord().key();
+            // Byte array keys, as delivered by ByteArrayConverter, are compared by content
+            return key instanceof byte[] ? ByteBuffer.wrap((byte[]) key) : key;
+        }
+        // Extracted while the record was converted, so raw JSON records are never parsed here
+        return record.getTectonRecord().getCompactionKey();
+    }
+}
@@ -18,6 +18,13 @@ public interface RecordProcessor {
      */
     void processRecords(Collection<SinkRecord> records) throws ConnectorException;
 
+    /**
+     * Waits until every record processed so far has been sent, or spilled, so its offset can be committed.
+     */
+    default void flush() {
+        // Records are sent by the time they are processed by default
+    }
+
     /**
      * Closes the processor and releases any resources held.
      */
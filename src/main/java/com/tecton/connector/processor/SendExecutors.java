@@ -0,0 +1,51 @@
+package com.tecton.connector.processor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory for the executors used to send synchronous batches concurrently.
+ * <p>
+ * This is the Java 8 implementation, backed by a bounded pool of platform threads. On Java 21+ the
+ * multi-release JAR replaces this class with one that runs each send on its own virtual thread.
+ */
+public final class SendExecutors {
+
+    private static final String THREAD_NAME_PREFIX = "tecton-sync-send-";
+
+    private SendExecutors() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Creates an executor able to run up to {@code concurrency} sends at the same time.
+     *
+     * @param concurrency The maximum number of concurrent sends.
+     * @return A new ExecutorService.
+     */
+    public static ExecutorService newSendExecutor(int concurrency) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                concurrency, concurrency, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Describes the kind of threads used by this implementation, for logging.
+     *
+     * @return A short description of the executor.
+     */
+    public static String description() {
+        return "bounded platform thread pool";
+    }
+}
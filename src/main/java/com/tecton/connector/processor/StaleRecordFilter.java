@@ -0,0 +1,77 @@
+package com.tecton.connector.processor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.kafka.connect.sink.SinkRecord;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Router;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+/**
+ * Finds records whose event time is older than the maximum event age of their push source, so they can be
+ * skipped before they are sent. After an outage this drops the part of the backlog that would only
+ * overwrite online features with values fresher events are already queued to replace.
+ * <p>
+ * The event time is extracted from the push source's event time field while the record is converted, so
+ * serialized values are parsed only once, and falls back to the Kafka timestamp when the field is missing
+ * or unreadable. Records without either are never skipped. The push source is resolved from the topic
+ * alone, as it is for the event time field.
+ */
+final class StaleRecordFilter {
+
+    private static final String METRIC_GROUP = "freshness-metrics";
+
+    private final TectonHttpSinkConnectorConfig config;
+    private final Router router;
+    private final ConnectorMetrics metrics;
+    // Only used by the thread calling put()
+    private final Map<String, LongAdder> skippedByPushSource = new HashMap<>();
+
+    /**
+     * Constructs a StaleRecordFilter.
+     *
+     * @param config  The connector configuration.
+     * @param router  The router resolving the push source of each topic.
+     * @param metrics The metrics of the task.
+     */
+    StaleRecordFilter(TectonHttpSinkConnectorConfig config, Router router, ConnectorMetrics metrics) {
+        this.config = config;
+        this.router = router;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the age of a record if it is older than the maximum event age of its push source, counting
+     * it as skipped, or -1 if it should be sent.
+     *
+     * @param record       The record.
+     * @param tectonRecord The converted record, holding the event time extracted from its value.
+     * @param now          The current time, in epoch milliseconds.
+     * @return The age of the stale record in milliseconds, or -1.
+     */
+    long staleAge(SinkRecord record, TectonRecord tectonRecord, long now) {
+        String pushSource = router.route(record.topic()).getPushSource();
+        long maxEventAgeMs = config.maxEventAgeMs(pushSource);
+        if (maxEventAgeMs <= 0) {
+            return -1;
+        }
+        Long eventTime = tectonRecord.getEventTime();
+        if (eventTime == null) {
+            eventTime = record.timestamp();
+        }
+        if (eventTime == null || now - eventTime <= maxEventAgeMs) {
+            return -1;
+        }
+        skippedByPushSource.computeIfAbsent(pushSource, this::skippedCounter).increment();
+        return now - eventTime;
+    }
+
+    private LongAdder skippedCounter(String pushSource) {
+        return metrics.counter(metrics.metricName("stale-records-skipped-total", METRIC_GROUP,
+                "The number of records skipped for being older than the maximum event age",
+                Collections.singletonMap("push-source", pushSource)));
+    }
+}
@@ -1,14 +1,15 @@
 package com.tecton.connector.processor;
 
 import java.util.List;
-import org.apache.kafka.connect.sink.SinkRecord;
+import org.apache.kafka.connect.errors.RetriableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.tecton.connector.client.HttpClient;
-import com.tecton.connector.converter.RecordConverter;
 import com.tecton.connector.error.ConnectorException;
+import com.tecton.connector.error.HttpClientException;
 import com.tecton.connector.model.TectonApiRequest;
-import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Route;
+import com.tecton.connector.spill.SpillLog;
 import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
 
 /**
@@ -19,40 +20,63 @@ public class SynchronousBatchProcessor implements BatchProcessingStrategy {
     private static final Logger LOG = LoggerFactory.getLogger(SynchronousBatchProcessor.class);
 
     private final TectonHttpSinkConnectorConfig config;
-    private final RecordConverter converter;
     private final HttpClient httpClient;
     private final ErrorHandler errorHandler;
+    private final SpillLog spillLog;
 
     public SynchronousBatchProcessor(TectonHttpSinkConnectorConfig config,
-                                     RecordConverter converter,
                                      HttpClient httpClient,
-                                     ErrorHandler errorHandler) {
+                                     ErrorHandler errorHandler,
+                                     SpillLog spillLog) {
         this.config = config;
-        this.converter = converter;
         this.httpClient = httpClient;
         this.errorHandler = errorHandler;
+        this.spillLog = spillLog;
     }
 
     @Override
-    public void process(List<SinkRecord> records) {
+    public void process(List<ConvertedRecord> records) {
+        TectonApiRequest request = buildRequest(records);
+        if (spillLog != null && !spillLog.isEmpty()) {
+            // Queued behind the batches waiting to be replayed, until the log is drained
+            spill(request);
+            return;
+        }
         try {
-            TectonApiRequest request = buildRequest(records);
             httpClient.sendSync(request);
-            LOG.info("Successfully sent batch of {} records", records.size());
+            LOG.debug("Successfully sent batch of {} records", records.size());
+        } catch (HttpClientException e) {
+            if (spillLog != null && e.isRetriable()) {
+                spill(request);
+            } else {
+                errorHandler.handle(e);
+            }
+        }
+    }
+
+    /**
+     * Spills a batch, failing the put() with a retriable error if the spill log is full, so the records are
+     * delivered again instead of dropped.
+     */
+    private void spill(TectonApiRequest request) {
+        try {
+            spillLog.append(request);
+            LOG.warn("Spilled batch of {} records for later replay", request.getRecordCount());
         } catch (ConnectorException e) {
-            errorHandler.handle(e);
+            throw new RetriableException(e.getMessage(), e);
         }
     }
 
-    private TectonApiRequest buildRequest(List<SinkRecord> records) throws ConnectorException {
+    private TectonApiRequest buildRequest(List<ConvertedRecord> records) {
+        // Batches are built per route, so every record shares the workspace and push source
+        Route route = records.get(0).getRoute();
         TectonApiRequest.Builder builder = new TectonApiRequest.Builder()
-                .workspaceName(config.workspaceName)
+                .workspaceName(route.getWorkspaceName())
                 .dryRun(config.dryRunEnabled);
 
-        for (SinkRecord record : records) {
-            TectonRecord tectonRecord = converter.convert(record);
-            String pushSource = config.pushSourceName != null ? config.pushSourceName : record.topic();
-            builder.addRecord(pushSource, tectonRecord);
+        for (ConvertedRecord record : records) {
+            builder.addRecord(route.getPushSource(), record.getTectonRecord());
+            builder.kafkaTimestamp(record.getSinkRecord().timestamp());
         }
 
         return builder.build();
@@ -0,0 +1,165 @@
+package com.tecton.connector.routing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A rule routing the records of matching topics to a push source and workspace, with its own batch limit.
+ * <p>
+ * Records are batched per route, so a request only ever carries records for a single push source. A route
+ * with a routing field further sends records to other push sources based on that field's value; each
+ * value's route is created once, so its records are batched together whichever topic they come from.
+ */
+public final class Route {
+
+    private final String name;
+    private final Pattern topicPattern;
+    private final String pushSource;
+    private final String workspaceName;
+    private final int batchMaxSize;
+    private final String routingField;
+    private final Map<String, Route> valueRoutes;
+
+    /**
+     * Constructs a Route.
+     *
+     * @param name          The name of the route.
+     * @param topicPattern  The pattern matching the topics of the route, or null to match every topic.
+     * @param pushSource    The push source to write to, or null to write to the push source named after the topic.
+     * @param workspaceName The workspace of the push source.
+     * @param batchMaxSize  The maximum number of records in a request.
+     */
+    public Route(String name, Pattern topicPattern, String pushSource, String workspaceName, int batchMaxSize) {
+        this(name, topicPattern, pushSource, workspaceName, batchMaxSize, null, Collections.emptyMap());
+    }
+
+    /**
+     * Constructs a Route that routes records by the value of one of their fields.
+     *
+     * @param name               The name of the route.
+     * @param topicPattern       The pattern matching the topics of the route, or null to match every topic.
+     * @param pushSource         The push source of records whose value is not mapped, or null to write them
+     *                           to the push source named after the topic.
+     * @param workspaceName      The workspace of the push sources.
+     * @param batchMaxSize       The maximum number of records in a request.
+     * @param routingField       The top-level field whose value routes records, or null.
+     * @param pushSourcesByValue The push source of each routed field value.
+     */
+    public Route(String name, Pattern topicPattern, String pushSource, String workspaceName, int batchMaxSize,
+                 String routingField, Map<String, String> pushSourcesByValue) {
+        this(name, topicPattern, pushSource, workspaceName, batchMaxSize,
+                valueRoutes(name, workspaceName, batchMaxSize, pushSourcesByValue), routingField);
+    }
+
+    private Route(String name, Pattern topicPattern, String pushSource, String workspaceName, int batchMaxSize,
+                  Map<String, Route> valueRoutes, String routingField) {
+        this.name = name;
+        this.topicPattern = topicPattern;
+        this.pushSource = pushSource;
+        this.workspaceName = workspaceName;
+        this.batchMaxSize = batchMaxSize;
+        this.routingField = routingField;
+        this.valueRoutes = valueRoutes;
+    }
+
+    private static Map<String, Route> valueRoutes(String name, String workspaceName, int batchMaxSize,
+                                                  Map<String, String> pushSourcesByValue) {
+        if (pushSourcesByValue.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Route> valueRoutes = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : pushSourcesByValue.entrySet()) {
+            valueRoutes.put(entry.getKey(), new Route(name + "[" + entry.getKey() + "]", null, entry.getValue(),
+                    workspaceName, batchMaxSize));
+        }
+        return Collections.unmodifiableMap(valueRoutes);
+    }
+
+    /**
+     * Returns whether the route applies to a topic.
+     *
+     * @param topic The topic name.
+     * @return True if the topic matches the route's pattern.
+     */
+    public boolean matches(String topic) {
+        return topicPattern == null || topicPattern.matcher(topic).matches();
+    }
+
+    /**
+     * Returns a copy of the route writing to the given push source.
+     *
+     * @param pushSource The push source.
+     * @return The copy.
+     */
+    public Route withPushSource(String pushSource) {
+        return new Route(name, topicPattern, pushSource, workspaceName, batchMaxSize, valueRoutes, routingField);
+    }
+
+    /**
+     * Returns the route of a record with the given routing field value.
+     *
+     * @param routingValue The value of the record's routing field, or null.
+     * @return The route mapped to the value, or this route if the value is not mapped.
+     */
+    public Route forValue(String routingValue) {
+        if (routingValue == null) {
+            return this;
+        }
+        Route route = valueRoutes.get(routingValue);
+        return route != null ? route : this;
+    }
+
+    /**
+     * Returns the name of the route.
+     *
+     * @return the route name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the push source of the route.
+     *
+     * @return the push source, or null if it is resolved per topic.
+     */
+    public String getPushSource() {
+        return pushSource;
+    }
+
+    /**
+     * Returns the workspace of the route's push source.
+     *
+     * @return the workspace name.
+     */
+    public String getWorkspaceName() {
+        return workspaceName;
+    }
+
+    /**
+     * Returns the maximum number of records in a request.
+     *
+     * @return the batch size limit.
+     */
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    /**
+     * Returns the field whose value routes the records of the route.
+     *
+     * @return the routing field, or null if records are not routed by value.
+     */
+    public String getRoutingField() {
+        return routingField;
+    }
+
+    @Override
+    public String toString() {
+        return "Route{name='" + name + "', pushSource='" + pushSource + "', workspaceName='" + workspaceName
+                + "', batchMaxSize=" + batchMaxSize + ", routingField='" + routingField + "', valueRoutes="
+                + valueRoutes.values() + '}';
+    }
+}
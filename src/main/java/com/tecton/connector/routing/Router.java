@@ -0,0 +1,73 @@
+package com.tecton.connector.routing;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+/**
+ * Resolves the route of each topic from the configured routing table, falling back to
+ * {@code tecton.push.source.name} (or the topic name) in {@code tecton.workspace.name}.
+ * <p>
+ * Rules are evaluated in order, first match wins, once per topic; the result is cached, so every record of
+ * a topic gets the same Route instance and batches can be grouped by route identity.
+ */
+public class Router {
+
+    private final List<Route> routes;
+    private final Route defaultRoute;
+    private final ConcurrentMap<String, Route> topicRoutes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a Router.
+     *
+     * @param config The connector configuration.
+     */
+    public Router(TectonHttpSinkConnectorConfig config) {
+        this.routes = config.routes;
+        this.defaultRoute = new Route("default", null, config.pushSourceName, config.workspaceName, config.batchMaxSize,
+                config.routingField, config.routingValues);
+    }
+
+    /**
+     * Returns the route of a topic.
+     *
+     * @param topic The topic name.
+     * @return The route, with its push source resolved.
+     */
+    public Route route(String topic) {
+        Route route = topicRoutes.get(topic);
+        if (route == null) {
+            route = topicRoutes.computeIfAbsent(topic, this::resolve);
+        }
+        return route;
+    }
+
+    /**
+     * Returns the route of a record, taking the value of its topic route's routing field into account.
+     *
+     * @param topic        The topic name.
+     * @param routingValue The value of the record's routing field, or null.
+     * @return The route, with its push source resolved.
+     */
+    public Route route(String topic, String routingValue) {
+        return route(topic).forValue(routingValue);
+    }
+
+    private Route resolve(String topic) {
+        for (Route route : routes) {
+            if (route.matches(topic)) {
+                return resolvePushSource(route, topic);
+            }
+        }
+        return resolvePushSource(defaultRoute, topic);
+    }
+
+    /**
+     * Routes without a push source write to the one named after the topic. Routes with one are shared by
+     * all their topics, so their records are batched together.
+     */
+    private static Route resolvePushSource(Route route, String topic) {
+        return route.getPushSource() != null ? route : route.withPushSource(topic);
+    }
+}
@@ -0,0 +1,147 @@
+package com.tecton.connector.spill;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.tecton.connector.client.HttpClient;
+import com.tecton.connector.error.ConnectorException;
+import com.tecton.connector.error.HttpClientException;
+import com.tecton.connector.model.TectonApiRequest;
+import com.tecton.connector.processor.ErrorHandler;
+
+/**
+ * Replays the batches of a {@link SpillLog} in order on a background thread.
+ * <p>
+ * The oldest batches are replayed in windows of up to the concurrency limit, sent concurrently, and
+ * removed from the log in order: a window only advances the log up to its first batch that failed with a
+ * transient error, so the checkpoint never skips a batch. While the oldest batch of a window fails, the
+ * drainer backs off and tries again. Batches rejected by Tecton are passed to the error handler and removed, so they
+ * cannot block the log.
+ */
+public class SpillDrainer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpillDrainer.class);
+
+    private final SpillLog spillLog;
+    private final HttpClient httpClient;
+    private final ErrorHandler errorHandler;
+    private final int concurrency;
+    private final long backoffMs;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a SpillDrainer and starts its thread.
+     *
+     * @param spillLog     The log to replay.
+     * @param httpClient   The HTTP client.
+     * @param errorHandler The handler of batches that cannot be replayed.
+     * @param concurrency  The maximum number of batches replayed concurrently.
+     * @param backoffMs    The time to wait after a transient failure, in milliseconds.
+     */
+    public SpillDrainer(SpillLog spillLog, HttpClient httpClient, ErrorHandler errorHandler, int concurrency,
+                        long backoffMs) {
+        this.spillLog = spillLog;
+        this.httpClient = httpClient;
+        this.errorHandler = errorHandler;
+        this.concurrency = Math.max(1, concurrency);
+        this.backoffMs = backoffMs;
+        this.thread = new Thread(this::drain, "tecton-spill-drainer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                List<byte[]> window = spillLog.peek(concurrency);
+                if (window.isEmpty()) {
+                    spillLog.awaitEntry(backoffMs);
+                    continue;
+                }
+                List<Throwable> failures = replay(window);
+                int replayed = 0;
+                while (replayed < failures.size() && failures.get(replayed) == null) {
+                    replayed++;
+                }
+                if (replayed > 0) {
+                    spillLog.ack(replayed);
+                    if (spillLog.isEmpty()) {
+                        LOG.info("Replayed every spilled batch");
+                    }
+                }
+                if (replayed < window.size()) {
+                    LOG.warn("Tecton is still unavailable, retrying {} spilled batches in {} ms: {}",
+                            spillLog.size(), backoffMs, failures.get(replayed).getMessage());
+                    TimeUnit.MILLISECONDS.sleep(backoffMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replays a window of batches concurrently and waits for all of them, returning for each batch the
+     * transient error it failed with, or null if it can be removed from the log.
+     */
+    private List<Throwable> replay(List<byte[]> window) throws InterruptedException {
+        List<CompletableFuture<Throwable>> replays = new ArrayList<>(window.size());
+        for (byte[] entry : window) {
+            replays.add(replay(entry));
+        }
+        List<Throwable> failures = new ArrayList<>(window.size());
+        for (CompletableFuture<Throwable> replay : replays) {
+            try {
+                failures.add(replay.get());
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        return failures;
+    }
+
+    private CompletableFuture<Throwable> replay(byte[] entry) {
+        TectonApiRequest request;
+        try {
+            request = TectonApiRequest.fromJson(entry);
+        } catch (IOException e) {
+            errorHandler.handle(new ConnectorException("Discarding unreadable spilled batch", e));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        try {
+            return httpClient.sendAsync(request).handle((response, ex) -> {
+                if (ex == null) {
+                    LOG.debug("Replayed spilled batch of {} records", request.getRecordCount());
+                    return null;
+                }
+                if (ex instanceof HttpClientException && !((HttpClientException) ex).isRetriable()) {
+                    errorHandler.handle(ex);
+                    return null;
+                }
+                return ex;
+            });
+        } catch (RuntimeException e) {
+            // e.g. no buffer memory available, or the client closing with the task
+            return CompletableFuture.completedFuture(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
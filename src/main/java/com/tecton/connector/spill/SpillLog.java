@@ -0,0 +1,400 @@
+package com.tecton.connector.spill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import org.apache.kafka.common.metrics.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tecton.connector.error.ConnectorException;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import com.tecton.connector.model.TectonApiRequest;
+import com.tecton.connector.util.JsonUtil;
+
+/**
+ * An append-only, memory-mapped queue of serialized requests, persisted in a local directory so spilled
+ * batches survive task restarts.
+ * <p>
+ * Entries are appended to fixed-size segment files, each prefixed with its length and CRC32, and forced
+ * to disk before {@link #append(byte[])} returns. Entries are consumed in order: {@link #peek(int)} returns
+ * the oldest entries and {@link #ack(int)} removes them, recording the read position in a checkpoint file,
+ * so entries are replayed at least once. Segments are deleted once all their entries are acknowledged.
+ * <p>
+ * New batches are appended behind the spilled ones until every entry is acknowledged, so no batch reaches
+ * Tecton before an older spilled one.
+ * <p>
+ * On startup the segments are scanned and the log resumes after the last intact entry; a torn write at
+ * the end of the last segment is discarded.
+ */
+public class SpillLog implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpillLog.class);
+    private static final String METRIC_GROUP = "spill-metrics";
+    private static final String SEGMENT_SUFFIX = ".spill";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    // Length and CRC32 of each entry
+    private static final int HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final MappedByteBuffer checkpoint;
+    private final LongAdder appendedEntries;
+    private final LongAdder acknowledgedEntries;
+    private int readPosition;
+    private int entries;
+    private long sizeBytes;
+
+    /**
+     * Opens the spill log in a directory, creating it if needed and recovering any entries left in it.
+     *
+     * @param directory    The directory of the log, used by a single task.
+     * @param segmentBytes The size of each segment file.
+     * @param maxBytes     The maximum total size of the segment files.
+     * @param metrics      The metrics of the task.
+     * @throws IOException If the directory or its files cannot be read or written.
+     */
+    public SpillLog(Path directory, int segmentBytes, long maxBytes, ConnectorMetrics metrics) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.checkpoint = map(directory.resolve(CHECKPOINT_FILE), Long.BYTES + Integer.BYTES);
+        recover();
+
+        metrics.metrics().addMetric(
+                metrics.metricName("spill-entries", METRIC_GROUP,
+                        "The number of spilled batches waiting to be replayed", Collections.emptyMap()),
+                (Gauge<Integer>) (config, now) -> size());
+        metrics.metrics().addMetric(
+                metrics.metricName("spill-bytes", METRIC_GROUP,
+                        "The size of the spill log's segment files", Collections.emptyMap()),
+                (Gauge<Long>) (config, now) -> sizeBytes());
+        this.appendedEntries = metrics.counter(metrics.metricName("spilled-batches-total", METRIC_GROUP,
+                "The number of batches written to the spill log", Collections.emptyMap()));
+        this.acknowledgedEntries = metrics.counter(metrics.metricName("replayed-batches-total", METRIC_GROUP,
+                "The number of spilled batches removed from the log after being replayed", Collections.emptyMap()));
+    }
+
+    /**
+     * Appends an entry and forces it to disk.
+     *
+     * @param entry The serialized request.
+     * @throws ConnectorException If the log is full or the entry cannot be written.
+     */
+    public void append(byte[] entry) throws ConnectorException {
+        lock.lock();
+        try {
+            int required = HEADER_BYTES + entry.length;
+            Segment tail = segments.peekLast();
+            if (tail == null || tail.remaining() < required) {
+                tail = roll(required);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(entry, 0, entry.length);
+            ByteBuffer buffer = tail.buffer.duplicate();
+            buffer.position(tail.writePosition);
+            buffer.putInt(entry.length).putInt((int) crc.getValue()).put(entry);
+            if (buffer.remaining() >= Integer.BYTES) {
+                // Marks the end of the log, overwriting any torn entry left behind by a crash
+                buffer.putInt(buffer.position(), 0);
+            }
+            tail.buffer.force();
+            tail.writePosition += required;
+            entries++;
+            appendedEntries.increment();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Serializes a request and appends it.
+     *
+     * @param request The request.
+     * @throws ConnectorException If the log is full or the request cannot be written.
+     */
+    public void append(TectonApiRequest request) throws ConnectorException {
+        byte[] entry;
+        try {
+            entry = JsonUtil.toJsonBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new ConnectorException("Failed to serialize batch to spill", e);
+        }
+        append(entry);
+    }
+
+    /**
+     * Returns the oldest entries without removing them.
+     *
+     * @param max The maximum number of entries to return.
+     * @return The entries, oldest first, or an empty list if the log is empty.
+     */
+    public List<byte[]> peek(int max) {
+        lock.lock();
+        try {
+            Segment head = advanceHead();
+            if (head == null) {
+                return Collections.emptyList();
+            }
+            List<byte[]> result = new ArrayList<>(Math.min(max, entries));
+            Iterator<Segment> iterator = segments.iterator();
+            Segment segment = iterator.next();
+            int position = readPosition;
+            while (result.size() < max) {
+                if (position >= segment.writePosition) {
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                    segment = iterator.next();
+                    position = 0;
+                    continue;
+                }
+                int length = segment.buffer.getInt(position);
+                byte[] entry = new byte[length];
+                ByteBuffer buffer = segment.buffer.duplicate();
+                buffer.position(position + HEADER_BYTES);
+                buffer.get(entry);
+                result.add(entry);
+                position += HEADER_BYTES + length;
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the oldest entries, once they have been replayed or given up on.
+     *
+     * @param count The number of entries to remove.
+     */
+    public void ack(int count) {
+        lock.lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                Segment head = advanceHead();
+                if (head == null) {
+                    break;
+                }
+                readPosition += HEADER_BYTES + head.buffer.getInt(readPosition);
+                entries--;
+                acknowledgedEntries.increment();
+            }
+            advanceHead();
+            checkpoint.putLong(0, segments.isEmpty() ? 0 : segments.peekFirst().id);
+            checkpoint.putInt(Long.BYTES, readPosition);
+            checkpoint.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the log holds an entry.
+     *
+     * @param timeoutMs The maximum time to wait, in milliseconds.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void awaitEntry(long timeoutMs) throws InterruptedException {
+        lock.lock();
+        try {
+            if (entries == 0) {
+                notEmpty.await(timeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether every entry has been acknowledged.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of entries not yet acknowledged.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total size of the segment files.
+     */
+    public long sizeBytes() {
+        lock.lock();
+        try {
+            return sizeBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            checkpoint.force();
+            segments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the segment holding the next entry to read, deleting segments that are fully read, or null if
+     * there is no entry to read.
+     */
+    private Segment advanceHead() {
+        while (!segments.isEmpty()) {
+            Segment head = segments.peekFirst();
+            if (readPosition < head.writePosition) {
+                return head;
+            }
+            if (head == segments.peekLast()) {
+                return null;
+            }
+            segments.removeFirst();
+            sizeBytes -= head.buffer.capacity();
+            readPosition = 0;
+            try {
+                Files.deleteIfExists(head.path);
+            } catch (IOException e) {
+                LOG.warn("Failed to delete replayed spill segment {}", head.path, e);
+            }
+        }
+        return null;
+    }
+
+    private Segment roll(int required) throws ConnectorException {
+        int capacity = Math.max(segmentBytes, required + Integer.BYTES);
+        if (sizeBytes + capacity > maxBytes) {
+            throw new ConnectorException("Spill log " + directory + " is full: " + sizeBytes + " of " + maxBytes
+                    + " bytes used");
+        }
+        long id = segments.isEmpty() ? 0 : segments.peekLast().id + 1;
+        Path path = directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+        try {
+            Segment segment = new Segment(id, path, map(path, capacity), 0);
+            segments.addLast(segment);
+            sizeBytes += capacity;
+            return segment;
+        } catch (IOException e) {
+            throw new ConnectorException("Failed to create spill segment " + path, e);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        Collections.sort(paths);
+
+        long checkpointId = checkpoint.getLong(0);
+        int checkpointPosition = checkpoint.getInt(Long.BYTES);
+        for (Path path : paths) {
+            String name = path.getFileName().toString();
+            long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            if (id < checkpointId) {
+                // Replayed before the task stopped, but not yet deleted
+                Files.deleteIfExists(path);
+                continue;
+            }
+            MappedByteBuffer buffer = map(path, (int) Files.size(path));
+            Segment segment = new Segment(id, path, buffer, 0);
+            int start = id == checkpointId ? checkpointPosition : 0;
+            if (segments.isEmpty()) {
+                readPosition = start;
+            }
+            segment.writePosition = scan(segment, start);
+            segments.addLast(segment);
+            sizeBytes += buffer.capacity();
+        }
+        if (entries > 0) {
+            LOG.info("Recovered {} spilled batches from {}", entries, directory);
+        }
+    }
+
+    /**
+     * Counts the intact entries of a segment from a position, returning the position after the last one.
+     */
+    private int scan(Segment segment, int position) {
+        MappedByteBuffer buffer = segment.buffer;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER_BYTES) {
+                break;
+            }
+            byte[] entry = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(position + HEADER_BYTES);
+            view.get(entry);
+            CRC32 crc = new CRC32();
+            crc.update(entry, 0, length);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                LOG.warn("Discarding torn spill entry at {} in {}", position, segment.path);
+                break;
+            }
+            position += HEADER_BYTES + length;
+            entries++;
+        }
+        return position;
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid once the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer, int writePosition) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+            this.writePosition = writePosition;
+        }
+
+        private int remaining() {
+            return buffer.capacity() - writePosition;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.tecton.connector.util;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,6 +42,28 @@ public final class JsonUtil {
         return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
     }
 
+    /**
+     * Converts an object to compact UTF-8 encoded JSON, suitable for request bodies.
+     *
+     * @param obj the object to convert to JSON.
+     * @return the UTF-8 encoded JSON representation of the object.
+     * @throws JsonProcessingException if there is an error converting the object to JSON.
+     */
+    public static byte[] toJsonBytes(Object obj) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(obj);
+    }
+
+    /**
+     * Writes an object as compact UTF-8 encoded JSON to a stream, without buffering the whole output in memory.
+     *
+     * @param out the stream to write to; it is closed once the object is written.
+     * @param obj the object to convert to JSON.
+     * @throws IOException if there is an error converting the object to JSON or writing it.
+     */
+    public static void writeJson(OutputStream out, Object obj) throws IOException {
+        OBJECT_MAPPER.writeValue(out, obj);
+    }
+
     /**
      * Parses a JSON string to an object of the specified type.
      *
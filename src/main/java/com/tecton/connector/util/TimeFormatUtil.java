@@ -0,0 +1,46 @@
+package com.tecton.connector.util;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Utility class for formatting dates and times without intermediate Strings.
+ */
+public final class TimeFormatUtil {
+
+    private static final DateTimeFormatter RFC3339_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    // Reused per thread so values are formatted straight into the final String
+    private static final ThreadLocal<StringBuilder> FORMAT_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private TimeFormatUtil() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Formats epoch milliseconds as an RFC 3339 timestamp in UTC, e.g. 2024-01-31T12:00:00.000Z.
+     *
+     * @param epochMillis The milliseconds since the epoch.
+     * @return The formatted timestamp.
+     */
+    public static String formatRfc3339(long epochMillis) {
+        return format(RFC3339_FORMATTER, Instant.ofEpochMilli(epochMillis));
+    }
+
+    /**
+     * Formats a temporal value with the given formatter using a reused per-thread buffer.
+     *
+     * @param formatter The formatter to use.
+     * @param temporal  The value to format.
+     * @return The formatted value.
+     */
+    public static String format(DateTimeFormatter formatter, TemporalAccessor temporal) {
+        StringBuilder buffer = FORMAT_BUFFER.get();
+        buffer.setLength(0);
+        formatter.formatTo(temporal, buffer);
+        return buffer.toString();
+    }
+}
@@ -6,6 +6,7 @@ import org.apache.kafka.connect.connector.Task;
 import org.apache.kafka.connect.sink.SinkConnector;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -14,6 +15,11 @@ import java.util.Map;
  */
 public class TectonHttpSinkConnector extends SinkConnector {
 
+    /**
+     * Task property holding the task's index, used to tell the tasks' metrics apart.
+     */
+    static final String TASK_ID_PROPERTY = "tecton.task.id";
+
     private Map<String, String> configProperties;
 
     @Override
@@ -38,7 +44,9 @@ public class TectonHttpSinkConnector extends SinkConnector {
         // Create one task configuration per task
         List<Map<String, String>> taskConfigs = new ArrayList<>(maxTasks);
         for (int i = 0; i < maxTasks; i++) {
-            taskConfigs.add(configProperties);
+            Map<String, String> taskConfig = new HashMap<>(configProperties);
+            taskConfig.put(TASK_ID_PROPERTY, String.valueOf(i));
+            taskConfigs.add(taskConfig);
         }
         return taskConfigs;
     }
@@ -1,15 +1,24 @@
 package com.tecton.kafka.connect;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigDef.Importance;
 import org.apache.kafka.common.config.ConfigDef.Range;
 import org.apache.kafka.common.config.ConfigDef.Type;
+import org.apache.kafka.common.config.ConfigDef.ValidString;
 import org.apache.kafka.common.config.ConfigDef.Validator;
 import org.apache.kafka.common.config.ConfigDef.Width;
 import org.apache.kafka.common.config.ConfigException;
+import com.tecton.connector.routing.Route;
 
 /**
  * Configuration class for TectonHttpSinkConnector. 
@@ -21,6 +30,11 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
     private static final String CONNECTOR_GROUP = "Connector";
     private static final String HTTP_GROUP = "HTTP";
     private static final String KAFKA_GROUP = "Kafka";
+    private static final String CONVERSION_GROUP = "Conversion";
+    private static final String ROUTING_GROUP = "Routing";
+    private static final String SPILL_GROUP = "Spill";
+    private static final String CATCH_UP_GROUP = "Catch-up";
+    private static final String METRICS_GROUP = "Metrics";
     private static final String LOGGING_GROUP = "Logging";
 
     // Connector configurations
@@ -42,6 +56,16 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
     private static final String BATCH_MAX_SIZE_DISPLAY = "Batch Max Size";
     private static final int BATCH_MAX_SIZE_DEFAULT = 500;
 
+    public static final String COMPACTION_ENABLED_CONFIG = "tecton.compaction.enabled";
+    private static final String COMPACTION_ENABLED_DOC = "Whether to send only the latest record per key and push source among the records of each put(). Superseded records are dropped, and their offsets are committed with the rest of the put().";
+    private static final String COMPACTION_ENABLED_DISPLAY = "Compaction Enabled";
+    private static final boolean COMPACTION_ENABLED_DEFAULT = false;
+
+    public static final String COMPACTION_KEY_FIELDS_CONFIG = "tecton.compaction.key.fields";
+    private static final String COMPACTION_KEY_FIELDS_DOC = "The record fields, as sent to Tecton, forming the entity key records are compacted by. Key values are compared as text, so 1, 1.0 and \"1\" are the same key. When empty, records are compacted by their Kafka key. Records without a key are never compacted.";
+    private static final String COMPACTION_KEY_FIELDS_DISPLAY = "Compaction Key Fields";
+    private static final String COMPACTION_KEY_FIELDS_DEFAULT = "";
+
     // HTTP configurations
     public static final String HTTP_CLUSTER_ENDPOINT_CONFIG = "tecton.http.cluster.endpoint";
     private static final String HTTP_CLUSTER_ENDPOINT_DOC = "The Tecton HTTP cluster endpoint URL (e.g., https://<your_cluster>.tecton.ai).";
@@ -76,6 +100,26 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
     private static final String HTTP_ASYNC_ENABLED_DISPLAY = "HTTP Async Enabled";
     private static final boolean HTTP_ASYNC_ENABLED_DEFAULT = false;
 
+    public static final String HTTP_CONCURRENCY_LIMIT_CONFIG = "tecton.http.concurrency.limit";
+    private static final String HTTP_CONCURRENCY_LIMIT_DOC = "Limits the number of concurrent HTTP requests to the Tecton Ingest API when asynchronous or parallel synchronous sending is enabled. The default matches the 5 requests per host OkHttp allowed before this setting applied; raise it to send more batches at once.";
+    private static final String HTTP_CONCURRENCY_LIMIT_DISPLAY = "HTTP Concurrency Limit";
+    private static final int HTTP_CONCURRENCY_LIMIT_DEFAULT = 5;
+
+    public static final String HTTP_SYNC_PARALLEL_ENABLED_CONFIG = "tecton.http.sync.parallel.enabled";
+    private static final String HTTP_SYNC_PARALLEL_ENABLED_DOC = "Whether synchronous sending should send all batches of a put() concurrently. put() still returns only once every batch has completed. Uses virtual threads on Java 21+, otherwise a bounded thread pool.";
+    private static final String HTTP_SYNC_PARALLEL_ENABLED_DISPLAY = "HTTP Parallel Sync Enabled";
+    private static final boolean HTTP_SYNC_PARALLEL_ENABLED_DEFAULT = false;
+
+    public static final String BUFFER_MEMORY_CONFIG = "tecton.buffer.memory";
+    private static final String BUFFER_MEMORY_DOC = "The total bytes of serialized request bodies the task may hold while they are encoded, queued or in flight. Sending blocks when the limit is reached, for at most tecton.buffer.max.block.ms.";
+    private static final String BUFFER_MEMORY_DISPLAY = "Buffer Memory";
+    private static final long BUFFER_MEMORY_DEFAULT = 32L * 1024 * 1024;
+
+    public static final String BUFFER_MAX_BLOCK_CONFIG = "tecton.buffer.max.block.ms";
+    private static final String BUFFER_MAX_BLOCK_DOC = "How long sending a request may block waiting for buffer memory. When it elapses, put() fails with a retriable error and the records are delivered again, unless another batch of the same put() was already sent asynchronously, in which case sending keeps waiting.";
+    private static final String BUFFER_MAX_BLOCK_DISPLAY = "Buffer Max Block (ms)";
+    private static final long BUFFER_MAX_BLOCK_DEFAULT = TimeUnit.MINUTES.toMillis(1);
+
     public static final String HTTP_MAX_RETRIES_CONFIG = "tecton.http.max.retries";
     private static final String HTTP_MAX_RETRIES_DOC = "Maximum number of retries for HTTP requests.";
     private static final String HTTP_MAX_RETRIES_DISPLAY = "HTTP Max Retries";
@@ -96,33 +140,230 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
     private static final String KEEP_ALIVE_DURATION_DISPLAY = "Keep Alive Duration (ms)";
     private static final long KEEP_ALIVE_DURATION_DEFAULT = TimeUnit.MINUTES.toMillis(5);
 
+    public static final String HTTP_RESPONSE_MODE_CONFIG = "tecton.http.response.mode";
+    private static final String HTTP_RESPONSE_MODE_DOC = "How success response bodies are handled: FULL reads and binds the whole response, STREAM parses only the ingest counts from the body as it arrives (or discards it if tecton.metrics.ingest.enabled is false), logging rather than failing the request if the body cannot be read, and DISCARD never reads it. Error bodies are always fully parsed.";
+    private static final String HTTP_RESPONSE_MODE_DISPLAY = "HTTP Response Mode";
+    private static final String HTTP_RESPONSE_MODE_DEFAULT = "STREAM";
+
     // Kafka configurations
     public static final String KAFKA_TIMESTAMP_ENABLED_CONFIG = "kafka.timestamp.enabled";
-    private static final String KAFKA_TIMESTAMP_ENABLED_DOC = "Whether to include the Kafka record timestamp in the Tecton record.";
+    private static final String KAFKA_TIMESTAMP_ENABLED_DOC = "Whether to include the Kafka record timestamp in the Tecton record, as the kafka_timestamp field (formatted per tecton.timestamp.format). A kafka_timestamp field already in the record is kept instead.";
     private static final String KAFKA_TIMESTAMP_ENABLED_DISPLAY = "Include Kafka Timestamp";
     private static final boolean KAFKA_TIMESTAMP_ENABLED_DEFAULT = false;
 
     public static final String KAFKA_KEY_ENABLED_CONFIG = "kafka.key.enabled";
-    private static final String KAFKA_KEY_ENABLED_DOC = "Whether to include the Kafka record key in the Tecton record.";
+    private static final String KAFKA_KEY_ENABLED_DOC = "Whether to include the Kafka record key in the Tecton record, as the kafka_key field. A kafka_key field already in the record is kept instead.";
     private static final String KAFKA_KEY_ENABLED_DISPLAY = "Include Kafka Key";
     private static final boolean KAFKA_KEY_ENABLED_DEFAULT = false;
 
     public static final String KAFKA_HEADERS_ENABLED_CONFIG = "kafka.headers.enabled";
-    private static final String KAFKA_HEADERS_ENABLED_DOC = "Whether to include the Kafka record headers in the Tecton record.";
+    private static final String KAFKA_HEADERS_ENABLED_DOC = "Whether to include the Kafka record headers in the Tecton record, as the kafka_headers object, keeping the last header of each name. A kafka_headers field already in the record is kept instead.";
     private static final String KAFKA_HEADERS_ENABLED_DISPLAY = "Include Kafka Headers";
     private static final boolean KAFKA_HEADERS_ENABLED_DEFAULT = false;
 
     public static final String KAFKA_SANITISE_KEYS_ENABLED_CONFIG = "kafka.sanitise.keys.enabled";
-    private static final String KAFKA_SANITISE_KEYS_ENABLED_DOC = "Whether to sanitise JSON keys in the Tecton record.";
+    private static final String KAFKA_SANITISE_KEYS_ENABLED_DOC = "Whether to replace every character other than letters, digits and underscores in record keys with an underscore. Records in which two keys of an object end up with the same name are rejected.";
     private static final String KAFKA_SANITISE_KEYS_ENABLED_DISPLAY = "Sanitise JSON Keys";
     private static final boolean KAFKA_SANITISE_KEYS_ENABLED_DEFAULT = false;
 
+    // Conversion configurations
+    public static final String CONVERSION_PARALLEL_THRESHOLD_CONFIG = "tecton.conversion.parallel.threshold";
+    private static final String CONVERSION_PARALLEL_THRESHOLD_DOC = "The minimum number of records in a put() for conversion to run in parallel across cores. 0 disables parallel conversion.";
+    private static final String CONVERSION_PARALLEL_THRESHOLD_DISPLAY = "Parallel Conversion Threshold";
+    private static final int CONVERSION_PARALLEL_THRESHOLD_DEFAULT = 1000;
+
+    public static final String CONVERSION_PARALLELISM_CONFIG = "tecton.conversion.parallelism";
+    private static final String CONVERSION_PARALLELISM_DOC = "The number of threads used for parallel conversion. 0 uses the number of available processors.";
+    private static final String CONVERSION_PARALLELISM_DISPLAY = "Conversion Parallelism";
+    private static final int CONVERSION_PARALLELISM_DEFAULT = 0;
+
+    public static final String RECORD_MAX_DEPTH_CONFIG = "tecton.record.max.depth";
+    private static final String RECORD_MAX_DEPTH_DOC = "The maximum nesting depth of objects and arrays in a record. Deeper records are rejected as invalid.";
+    private static final String RECORD_MAX_DEPTH_DISPLAY = "Record Max Depth";
+    private static final int RECORD_MAX_DEPTH_DEFAULT = 32;
+
+    public static final String RECORD_MAX_VALUES_CONFIG = "tecton.record.max.values";
+    private static final String RECORD_MAX_VALUES_DOC = "The maximum number of values (fields, array elements and nested entries) in a record. Larger records are rejected as invalid.";
+    private static final String RECORD_MAX_VALUES_DISPLAY = "Record Max Values";
+    private static final int RECORD_MAX_VALUES_DEFAULT = 100000;
+
+    public static final String DECIMAL_FORMAT_CONFIG = "tecton.decimal.format";
+    private static final String DECIMAL_FORMAT_DOC = "How Connect Decimal fields are written: NUMERIC (JSON number), STRING (plain decimal string) or BASE64 (the JsonConverter encoding of the unscaled bytes).";
+    private static final String DECIMAL_FORMAT_DISPLAY = "Decimal Format";
+    private static final String DECIMAL_FORMAT_DEFAULT = "NUMERIC";
+
+    public static final String DECIMAL_FORMAT_OVERRIDES_CONFIG = "tecton.decimal.format.overrides";
+    private static final String DECIMAL_FORMAT_OVERRIDES_DOC = "Per-field overrides of tecton.decimal.format, as a list of field:FORMAT entries (e.g. price:STRING,raw_amount:BASE64).";
+    private static final String DECIMAL_FORMAT_OVERRIDES_DISPLAY = "Decimal Format Overrides";
+    private static final String DECIMAL_FORMAT_OVERRIDES_DEFAULT = "";
+
+    public static final String TIMESTAMP_FORMAT_CONFIG = "tecton.timestamp.format";
+    private static final String TIMESTAMP_FORMAT_DOC = "How Connect Timestamp fields are written: RFC3339 (e.g. 2024-01-31T12:00:00.000Z) or EPOCH_MILLIS.";
+    private static final String TIMESTAMP_FORMAT_DISPLAY = "Timestamp Format";
+    private static final String TIMESTAMP_FORMAT_DEFAULT = "RFC3339";
+
+    public static final String FIELD_NAME_CACHE_SIZE_CONFIG = "tecton.field.name.cache.size";
+    private static final String FIELD_NAME_CACHE_SIZE_DOC = "The maximum number of distinct field names each task canonicalizes, so in-flight records share one String per name. Names beyond the limit are kept as-is.";
+    private static final String FIELD_NAME_CACHE_SIZE_DISPLAY = "Field Name Cache Size";
+    private static final int FIELD_NAME_CACHE_SIZE_DEFAULT = 10000;
+
+    public static final String FIELDS_INCLUDE_CONFIG = "tecton.fields.include";
+    private static final String FIELDS_INCLUDE_DOC = "The top-level fields to send, by their original names. Other fields are dropped without being converted. Empty sends every field. Can be overridden per push source with tecton.push.source.<name>.fields.include.";
+    private static final String FIELDS_INCLUDE_DISPLAY = "Included Fields";
+    private static final String FIELDS_INCLUDE_DEFAULT = "";
+
+    public static final String FIELDS_RENAME_CONFIG = "tecton.fields.rename";
+    private static final String FIELDS_RENAME_DOC = "Renames of top-level fields, as a list of original:renamed entries (e.g. evt-ts:event_timestamp). Can be overridden per push source with tecton.push.source.<name>.fields.rename.";
+    private static final String FIELDS_RENAME_DISPLAY = "Field Renames";
+    private static final String FIELDS_RENAME_DEFAULT = "";
+
+    public static final String FLATTEN_ENABLED_CONFIG = "tecton.flatten.enabled";
+    private static final String FLATTEN_ENABLED_DOC = "Whether to merge the fields of nested objects and Structs into the record under their joined path (e.g. a.b.c as a_b_c). Arrays and map-typed Struct fields are kept as-is. Records in which a joined path equals another field name are rejected.";
+    private static final String FLATTEN_ENABLED_DISPLAY = "Flatten Nested Fields";
+    private static final boolean FLATTEN_ENABLED_DEFAULT = false;
+
+    public static final String FLATTEN_DELIMITER_CONFIG = "tecton.flatten.delimiter";
+    private static final String FLATTEN_DELIMITER_DOC = "The delimiter joining the names of flattened fields.";
+    private static final String FLATTEN_DELIMITER_DISPLAY = "Flatten Delimiter";
+    private static final String FLATTEN_DELIMITER_DEFAULT = "_";
+
+    public static final String OMIT_NULL_FIELDS_CONFIG = "tecton.omit.null.fields";
+    private static final String OMIT_NULL_FIELDS_DOC = "Whether to leave fields with null values out of the request body, at any level of the record except array elements. Can be overridden per push source with tecton.push.source.<name>.omit.null.fields.";
+    private static final String OMIT_NULL_FIELDS_DISPLAY = "Omit Null Fields";
+    private static final boolean OMIT_NULL_FIELDS_DEFAULT = false;
+
+    public static final String OMIT_DEFAULT_FIELDS_CONFIG = "tecton.omit.default.fields";
+    private static final String OMIT_DEFAULT_FIELDS_DOC = "Whether to leave Struct fields equal to their schema default out of the request body. Can be overridden per push source with tecton.push.source.<name>.omit.default.fields.";
+    private static final String OMIT_DEFAULT_FIELDS_DISPLAY = "Omit Default Fields";
+    private static final boolean OMIT_DEFAULT_FIELDS_DEFAULT = false;
+
+    // Per push source overrides, e.g. tecton.push.source.<name>.fields.include
+    private static final String PUSH_SOURCE_OVERRIDE_PREFIX = "tecton.push.source.";
+    private static final String FIELDS_INCLUDE_SUFFIX = ".fields.include";
+    private static final String FIELDS_RENAME_SUFFIX = ".fields.rename";
+    private static final String OMIT_NULL_FIELDS_SUFFIX = ".omit.null.fields";
+    private static final String OMIT_DEFAULT_FIELDS_SUFFIX = ".omit.default.fields";
+    private static final String MAX_EVENT_AGE_SUFFIX = ".max.event.age.ms";
+    private static final String EVENT_TIME_FIELD_SUFFIX = ".event.time.field";
+
+    // Routing configurations
+    public static final String ROUTES_CONFIG = "tecton.routes";
+    private static final String ROUTES_DOC = "The names of the routes, evaluated in order, that map topics to push sources. Each route <name> is configured with tecton.route.<name>.topics.regex (required), tecton.route.<name>.push.source (defaults to the topic name), tecton.route.<name>.workspace, tecton.route.<name>.batch.max.size, tecton.route.<name>.routing.field and tecton.route.<name>.routing.values. Topics matching no route use tecton.push.source.name.";
+    private static final String ROUTES_DISPLAY = "Routes";
+    private static final String ROUTES_DEFAULT = "";
+
+    public static final String ROUTING_FIELD_CONFIG = "tecton.routing.field";
+    private static final String ROUTING_FIELD_DOC = "The top-level field whose value routes records matching no route to the push sources in tecton.routing.values. Records whose value is missing or not mapped use tecton.push.source.name.";
+    private static final String ROUTING_FIELD_DISPLAY = "Routing Field";
+    private static final String ROUTING_FIELD_DEFAULT = null;
+
+    public static final String ROUTING_VALUES_CONFIG = "tecton.routing.values";
+    private static final String ROUTING_VALUES_DOC = "The push source of each value of tecton.routing.field, as a list of value:push_source entries (e.g. click:clicks_ps,view:views_ps).";
+    private static final String ROUTING_VALUES_DISPLAY = "Routing Values";
+    private static final String ROUTING_VALUES_DEFAULT = "";
+
+    private static final String ROUTE_PREFIX = "tecton.route.";
+    private static final String ROUTE_TOPICS_REGEX_SUFFIX = ".topics.regex";
+    private static final String ROUTE_PUSH_SOURCE_SUFFIX = ".push.source";
+    private static final String ROUTE_WORKSPACE_SUFFIX = ".workspace";
+    private static final String ROUTE_BATCH_MAX_SIZE_SUFFIX = ".batch.max.size";
+    private static final String ROUTE_ROUTING_FIELD_SUFFIX = ".routing.field";
+    private static final String ROUTE_ROUTING_VALUES_SUFFIX = ".routing.values";
+
+    // Spill configurations
+    public static final String SPILL_ENABLED_CONFIG = "tecton.spill.enabled";
+    private static final String SPILL_ENABLED_DOC = "Whether batches that fail with transient errors are written to a local spill log and replayed in order, up to tecton.http.concurrency.limit at a time, once Tecton is reachable again, instead of being dropped. New batches are appended to the log too until it is fully drained, so none reaches Tecton before an older spilled batch.";
+    private static final String SPILL_ENABLED_DISPLAY = "Spill Enabled";
+    private static final boolean SPILL_ENABLED_DEFAULT = false;
+
+    public static final String SPILL_DIR_CONFIG = "tecton.spill.dir";
+    private static final String SPILL_DIR_DOC = "The directory of the spill log. Required when spilling is enabled. Each task spills to its own subdirectory, named after the connector and task id.";
+    private static final String SPILL_DIR_DISPLAY = "Spill Directory";
+    private static final String SPILL_DIR_DEFAULT = null;
+
+    public static final String SPILL_SEGMENT_BYTES_CONFIG = "tecton.spill.segment.bytes";
+    private static final String SPILL_SEGMENT_BYTES_DOC = "The size of each memory-mapped segment file of the spill log. Segments are deleted once all their batches are replayed.";
+    private static final String SPILL_SEGMENT_BYTES_DISPLAY = "Spill Segment Bytes";
+    private static final int SPILL_SEGMENT_BYTES_DEFAULT = 64 * 1024 * 1024;
+
+    public static final String SPILL_MAX_BYTES_CONFIG = "tecton.spill.max.bytes";
+    private static final String SPILL_MAX_BYTES_DOC = "The maximum total size of the spill log. When it is full, put() fails with a retriable error until batches are replayed.";
+    private static final String SPILL_MAX_BYTES_DISPLAY = "Spill Max Bytes";
+    private static final long SPILL_MAX_BYTES_DEFAULT = 1024L * 1024 * 1024;
+
+    public static final String SPILL_DRAIN_BACKOFF_CONFIG = "tecton.spill.drain.backoff.ms";
+    private static final String SPILL_DRAIN_BACKOFF_DOC = "How long the drainer waits before trying to replay a spilled batch again after a transient failure.";
+    private static final String SPILL_DRAIN_BACKOFF_DISPLAY = "Spill Drain Backoff (ms)";
+    private static final long SPILL_DRAIN_BACKOFF_DEFAULT = TimeUnit.SECONDS.toMillis(5);
+
+    // Catch-up configurations
+    public static final String CATCH_UP_ENABLED_CONFIG = "tecton.catchup.enabled";
+    private static final String CATCH_UP_ENABLED_DOC = "Whether the task switches to throughput-oriented settings (tecton.catchup.batch.max.size, tecton.catchup.concurrency.limit and optionally gzip) while it works through a backlog, and back once it has caught up.";
+    private static final String CATCH_UP_ENABLED_DISPLAY = "Catch-up Enabled";
+    private static final boolean CATCH_UP_ENABLED_DEFAULT = false;
+
+    public static final String CATCH_UP_LAG_THRESHOLD_CONFIG = "tecton.catchup.lag.threshold.ms";
+    private static final String CATCH_UP_LAG_THRESHOLD_DOC = "Catch-up starts when the oldest record of a put(), by Kafka timestamp, is older than this.";
+    private static final String CATCH_UP_LAG_THRESHOLD_DISPLAY = "Catch-up Lag Threshold (ms)";
+    private static final long CATCH_UP_LAG_THRESHOLD_DEFAULT = TimeUnit.MINUTES.toMillis(5);
+
+    public static final String CATCH_UP_PUT_SIZE_THRESHOLD_CONFIG = "tecton.catchup.put.size.threshold";
+    private static final String CATCH_UP_PUT_SIZE_THRESHOLD_DOC = "Catch-up also starts when a put() holds at least this many records, which happens when the consumer is behind. 0 disables this trigger.";
+    private static final String CATCH_UP_PUT_SIZE_THRESHOLD_DISPLAY = "Catch-up Put Size Threshold";
+    private static final int CATCH_UP_PUT_SIZE_THRESHOLD_DEFAULT = 0;
+
+    public static final String CATCH_UP_FRESHNESS_SLO_CONFIG = "tecton.catchup.freshness.slo.ms";
+    private static final String CATCH_UP_FRESHNESS_SLO_DOC = "Catch-up ends once the oldest record of a put() is at most this old and the put() is below tecton.catchup.put.size.threshold. Must not exceed tecton.catchup.lag.threshold.ms.";
+    private static final String CATCH_UP_FRESHNESS_SLO_DISPLAY = "Catch-up Freshness SLO (ms)";
+    private static final long CATCH_UP_FRESHNESS_SLO_DEFAULT = TimeUnit.MINUTES.toMillis(1);
+
+    public static final String CATCH_UP_BATCH_MAX_SIZE_CONFIG = "tecton.catchup.batch.max.size";
+    private static final String CATCH_UP_BATCH_MAX_SIZE_DOC = "The maximum number of records in a request during catch-up. Routes with a larger batch size keep theirs.";
+    private static final String CATCH_UP_BATCH_MAX_SIZE_DISPLAY = "Catch-up Batch Max Size";
+    private static final int CATCH_UP_BATCH_MAX_SIZE_DEFAULT = 2000;
+
+    public static final String CATCH_UP_CONCURRENCY_LIMIT_CONFIG = "tecton.catchup.concurrency.limit";
+    private static final String CATCH_UP_CONCURRENCY_LIMIT_DOC = "The limit of concurrent HTTP requests during catch-up, replacing tecton.http.concurrency.limit when asynchronous or parallel synchronous sending is enabled.";
+    private static final String CATCH_UP_CONCURRENCY_LIMIT_DISPLAY = "Catch-up Concurrency Limit";
+    private static final int CATCH_UP_CONCURRENCY_LIMIT_DEFAULT = 100;
+
+    public static final String CATCH_UP_GZIP_ENABLED_CONFIG = "tecton.catchup.gzip.enabled";
+    private static final String CATCH_UP_GZIP_ENABLED_DOC = "Whether request bodies are gzip-compressed during catch-up. Only enable if the Tecton endpoint accepts Content-Encoding: gzip.";
+    private static final String CATCH_UP_GZIP_ENABLED_DISPLAY = "Catch-up Gzip Enabled";
+    private static final boolean CATCH_UP_GZIP_ENABLED_DEFAULT = false;
+
+    public static final String MAX_EVENT_AGE_CONFIG = "tecton.max.event.age.ms";
+    private static final String MAX_EVENT_AGE_DOC = "Records whose event time is older than this are skipped without being sent, and their offsets committed. The event time is the value of tecton.event.time.field, or else the Kafka timestamp. 0 disables skipping. Can be overridden per push source with tecton.push.source.<name>.max.event.age.ms.";
+    private static final String MAX_EVENT_AGE_DISPLAY = "Max Event Age (ms)";
+    private static final long MAX_EVENT_AGE_DEFAULT = 0L;
+
+    public static final String EVENT_TIME_FIELD_CONFIG = "tecton.event.time.field";
+    private static final String EVENT_TIME_FIELD_DOC = "The top-level field holding the event time checked against tecton.max.event.age.ms, as epoch milliseconds, an ISO-8601 string or a Connect Timestamp. Records without it fall back to the Kafka timestamp. Can be overridden per push source with tecton.push.source.<name>.event.time.field.";
+    private static final String EVENT_TIME_FIELD_DISPLAY = "Event Time Field";
+    private static final String EVENT_TIME_FIELD_DEFAULT = null;
+
+    public static final String MAX_EVENT_AGE_DLQ_ENABLED_CONFIG = "tecton.max.event.age.dlq.enabled";
+    private static final String MAX_EVENT_AGE_DLQ_ENABLED_DOC = "Whether records skipped for their age are reported to the dead letter queue, when one is configured.";
+    private static final String MAX_EVENT_AGE_DLQ_ENABLED_DISPLAY = "Report Skipped Records";
+    private static final boolean MAX_EVENT_AGE_DLQ_ENABLED_DEFAULT = false;
+
+    // Metrics configurations
+    public static final String METRICS_INGEST_ENABLED_CONFIG = "tecton.metrics.ingest.enabled";
+    private static final String METRICS_INGEST_ENABLED_DOC = "Whether to total the online and offline record counts Tecton reports in each response, per feature view and data source. When disabled, success response bodies are not parsed.";
+    private static final String METRICS_INGEST_ENABLED_DISPLAY = "Ingest Metrics Enabled";
+    private static final boolean METRICS_INGEST_ENABLED_DEFAULT = true;
+
     // Logging configurations
     public static final String LOGGING_EVENT_DATA_ENABLED_CONFIG = "tecton.logging.event.data.enabled";
     private static final String LOGGING_EVENT_DATA_ENABLED_DOC = "Whether to log event data for debugging purposes. Enabling this may log sensitive data.";
     private static final String LOGGING_EVENT_DATA_ENABLED_DISPLAY = "Log Event Data";
     private static final boolean LOGGING_EVENT_DATA_ENABLED_DEFAULT = false;
 
+    public static final String LOGGING_THROUGHPUT_INTERVAL_CONFIG = "tecton.logging.throughput.interval.ms";
+    private static final String LOGGING_THROUGHPUT_INTERVAL_DOC = "How often each task logs a summary of the records it received and sent, the request bytes, failures and latencies. Latencies include retries but not the time a request waits for a free slot under tecton.http.concurrency.limit. Per-put() and per-batch detail is logged at DEBUG. 0 disables the summary.";
+    private static final String LOGGING_THROUGHPUT_INTERVAL_DISPLAY = "Throughput Log Interval (ms)";
+    private static final long LOGGING_THROUGHPUT_INTERVAL_DEFAULT = TimeUnit.MINUTES.toMillis(1);
+
     // We build the ConfigDef once and reuse it
     private static final ConfigDef CONFIG_DEF = baseConfigDef();
 
@@ -131,6 +372,8 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
     public final String pushSourceName;
     public final boolean dryRunEnabled;
     public final int batchMaxSize;
+    public final boolean compactionEnabled;
+    public final List<String> compactionKeyFields;
 
     public final String httpClusterEndpoint;
     public final String httpAuthToken;
@@ -139,17 +382,67 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
     public final int httpWriteTimeout;
     public final int httpCallTimeout;
     public final boolean httpAsyncEnabled;
+    public final int httpConcurrencyLimit;
+    public final long bufferMemory;
+    public final long bufferMaxBlockMs;
+    public final boolean httpSyncParallelEnabled;
     public final int httpMaxRetries;
     public final long httpRetryBackoff;
     public final int connectionPoolSize;
     public final long keepAliveDuration;
+    public final String httpResponseMode;
 
     public final boolean kafkaTimestampEnabled;
     public final boolean kafkaKeyEnabled;
     public final boolean kafkaHeadersEnabled;
     public final boolean kafkaSanitiseKeysEnabled;
 
+    public final int conversionParallelThreshold;
+    public final int conversionParallelism;
+    public final int recordMaxDepth;
+    public final int recordMaxValues;
+    public final String decimalFormat;
+    public final Map<String, String> decimalFormatOverrides;
+    public final String timestampFormat;
+    public final int fieldNameCacheSize;
+    public final List<String> fieldsInclude;
+    public final Map<String, String> fieldsRename;
+    public final boolean flattenEnabled;
+    public final String flattenDelimiter;
+    private final Map<String, List<String>> pushSourceFieldsInclude;
+    private final Map<String, Map<String, String>> pushSourceFieldsRename;
+    public final boolean omitNullFields;
+    public final boolean omitDefaultFields;
+    private final Map<String, Boolean> pushSourceOmitNullFields;
+    private final Map<String, Boolean> pushSourceOmitDefaultFields;
+
+    public final List<Route> routes;
+    public final String routingField;
+    public final Map<String, String> routingValues;
+
+    public final boolean spillEnabled;
+    public final String spillDir;
+    public final int spillSegmentBytes;
+    public final long spillMaxBytes;
+    public final long spillDrainBackoffMs;
+
+    public final boolean catchUpEnabled;
+    public final long catchUpLagThresholdMs;
+    public final int catchUpPutSizeThreshold;
+    public final long catchUpFreshnessSloMs;
+    public final int catchUpBatchMaxSize;
+    public final int catchUpConcurrencyLimit;
+    public final boolean catchUpGzipEnabled;
+    public final long maxEventAgeMs;
+    public final String eventTimeField;
+    public final boolean maxEventAgeDlqEnabled;
+    private final Map<String, Long> pushSourceMaxEventAgeMs;
+    private final Map<String, String> pushSourceEventTimeField;
+
+    public final boolean metricsIngestEnabled;
+
     public final boolean loggingEventDataEnabled;
+    public final long loggingThroughputIntervalMs;
 
     /**
      * Constructor to initialize configuration parameters from the given originals.
@@ -162,6 +455,8 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
         this.pushSourceName = getString(PUSH_SOURCE_NAME_CONFIG);
         this.dryRunEnabled = getBoolean(DRY_RUN_ENABLED_CONFIG);
         this.batchMaxSize = getInt(BATCH_MAX_SIZE_CONFIG);
+        this.compactionEnabled = getBoolean(COMPACTION_ENABLED_CONFIG);
+        this.compactionKeyFields = getList(COMPACTION_KEY_FIELDS_CONFIG);
 
         // HTTP configurations
         this.httpClusterEndpoint = getString(HTTP_CLUSTER_ENDPOINT_CONFIG);
@@ -171,10 +466,15 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
         this.httpWriteTimeout = getInt(HTTP_WRITE_TIMEOUT_CONFIG);
         this.httpCallTimeout = getInt(HTTP_CALL_TIMEOUT_CONFIG);
         this.httpAsyncEnabled = getBoolean(HTTP_ASYNC_ENABLED_CONFIG);
+        this.httpConcurrencyLimit = getInt(HTTP_CONCURRENCY_LIMIT_CONFIG);
+        this.bufferMemory = getLong(BUFFER_MEMORY_CONFIG);
+        this.bufferMaxBlockMs = getLong(BUFFER_MAX_BLOCK_CONFIG);
+        this.httpSyncParallelEnabled = getBoolean(HTTP_SYNC_PARALLEL_ENABLED_CONFIG);
         this.httpMaxRetries = getInt(HTTP_MAX_RETRIES_CONFIG);
         this.httpRetryBackoff = getLong(HTTP_RETRY_BACKOFF_CONFIG);
         this.connectionPoolSize = getInt(CONNECTION_POOL_SIZE_CONFIG);
         this.keepAliveDuration = getLong(KEEP_ALIVE_DURATION_CONFIG);
+        this.httpResponseMode = getString(HTTP_RESPONSE_MODE_CONFIG);
 
         // Kafka configurations
         this.kafkaTimestampEnabled = getBoolean(KAFKA_TIMESTAMP_ENABLED_CONFIG);
@@ -182,8 +482,92 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
         this.kafkaHeadersEnabled = getBoolean(KAFKA_HEADERS_ENABLED_CONFIG);
         this.kafkaSanitiseKeysEnabled = getBoolean(KAFKA_SANITISE_KEYS_ENABLED_CONFIG);
 
+        // Conversion configurations
+        this.conversionParallelThreshold = getInt(CONVERSION_PARALLEL_THRESHOLD_CONFIG);
+        int parallelism = getInt(CONVERSION_PARALLELISM_CONFIG);
+        this.conversionParallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.recordMaxDepth = getInt(RECORD_MAX_DEPTH_CONFIG);
+        this.recordMaxValues = getInt(RECORD_MAX_VALUES_CONFIG);
+        this.decimalFormat = getString(DECIMAL_FORMAT_CONFIG);
+        this.decimalFormatOverrides = parseMappings(DECIMAL_FORMAT_OVERRIDES_CONFIG, getList(DECIMAL_FORMAT_OVERRIDES_CONFIG));
+        for (String format : decimalFormatOverrides.values()) {
+            ValidString.in("NUMERIC", "STRING", "BASE64").ensureValid(DECIMAL_FORMAT_OVERRIDES_CONFIG, format);
+        }
+        this.timestampFormat = getString(TIMESTAMP_FORMAT_CONFIG);
+        this.fieldNameCacheSize = getInt(FIELD_NAME_CACHE_SIZE_CONFIG);
+        this.fieldsInclude = getList(FIELDS_INCLUDE_CONFIG);
+        this.fieldsRename = parseMappings(FIELDS_RENAME_CONFIG, getList(FIELDS_RENAME_CONFIG));
+        this.flattenEnabled = getBoolean(FLATTEN_ENABLED_CONFIG);
+        this.flattenDelimiter = getString(FLATTEN_DELIMITER_CONFIG);
+        this.pushSourceFieldsInclude = new HashMap<>();
+        this.pushSourceFieldsRename = new HashMap<>();
+        this.omitNullFields = getBoolean(OMIT_NULL_FIELDS_CONFIG);
+        this.omitDefaultFields = getBoolean(OMIT_DEFAULT_FIELDS_CONFIG);
+        this.pushSourceOmitNullFields = new HashMap<>();
+        this.pushSourceOmitDefaultFields = new HashMap<>();
+        this.pushSourceMaxEventAgeMs = new HashMap<>();
+        this.pushSourceEventTimeField = new HashMap<>();
+        for (Map.Entry<String, String> entry : originalsStrings().entrySet()) {
+            String name = entry.getKey();
+            if (!name.startsWith(PUSH_SOURCE_OVERRIDE_PREFIX)) {
+                continue;
+            }
+            if (name.endsWith(FIELDS_INCLUDE_SUFFIX)) {
+                pushSourceFieldsInclude.put(pushSourceOf(name, FIELDS_INCLUDE_SUFFIX), parseList(name, entry.getValue()));
+            } else if (name.endsWith(FIELDS_RENAME_SUFFIX)) {
+                pushSourceFieldsRename.put(pushSourceOf(name, FIELDS_RENAME_SUFFIX),
+                        parseMappings(name, parseList(name, entry.getValue())));
+            } else if (name.endsWith(OMIT_NULL_FIELDS_SUFFIX)) {
+                pushSourceOmitNullFields.put(pushSourceOf(name, OMIT_NULL_FIELDS_SUFFIX), parseBoolean(name, entry.getValue()));
+            } else if (name.endsWith(OMIT_DEFAULT_FIELDS_SUFFIX)) {
+                pushSourceOmitDefaultFields.put(pushSourceOf(name, OMIT_DEFAULT_FIELDS_SUFFIX),
+                        parseBoolean(name, entry.getValue()));
+            } else if (name.endsWith(MAX_EVENT_AGE_SUFFIX)) {
+                long maxEventAge = (Long) ConfigDef.parseType(name, entry.getValue(), Type.LONG);
+                Range.atLeast(0).ensureValid(name, maxEventAge);
+                pushSourceMaxEventAgeMs.put(pushSourceOf(name, MAX_EVENT_AGE_SUFFIX), maxEventAge);
+            } else if (name.endsWith(EVENT_TIME_FIELD_SUFFIX)) {
+                pushSourceEventTimeField.put(pushSourceOf(name, EVENT_TIME_FIELD_SUFFIX), entry.getValue().trim());
+            }
+        }
+
+        // Routing configurations
+        this.routes = parseRoutes(getList(ROUTES_CONFIG));
+        this.routingField = getString(ROUTING_FIELD_CONFIG);
+        this.routingValues = parseMappings(ROUTING_VALUES_CONFIG, getList(ROUTING_VALUES_CONFIG));
+
+        // Spill configurations
+        this.spillEnabled = getBoolean(SPILL_ENABLED_CONFIG);
+        this.spillDir = getString(SPILL_DIR_CONFIG);
+        this.spillSegmentBytes = getInt(SPILL_SEGMENT_BYTES_CONFIG);
+        this.spillMaxBytes = getLong(SPILL_MAX_BYTES_CONFIG);
+        this.spillDrainBackoffMs = getLong(SPILL_DRAIN_BACKOFF_CONFIG);
+        if (spillEnabled && (spillDir == null || spillDir.trim().isEmpty())) {
+            throw new ConfigException(SPILL_DIR_CONFIG, spillDir, "A spill directory is required when spilling is enabled.");
+        }
+
+        // Catch-up configurations
+        this.catchUpEnabled = getBoolean(CATCH_UP_ENABLED_CONFIG);
+        this.catchUpLagThresholdMs = getLong(CATCH_UP_LAG_THRESHOLD_CONFIG);
+        this.catchUpPutSizeThreshold = getInt(CATCH_UP_PUT_SIZE_THRESHOLD_CONFIG);
+        this.catchUpFreshnessSloMs = getLong(CATCH_UP_FRESHNESS_SLO_CONFIG);
+        this.catchUpBatchMaxSize = getInt(CATCH_UP_BATCH_MAX_SIZE_CONFIG);
+        this.catchUpConcurrencyLimit = getInt(CATCH_UP_CONCURRENCY_LIMIT_CONFIG);
+        this.catchUpGzipEnabled = getBoolean(CATCH_UP_GZIP_ENABLED_CONFIG);
+        this.maxEventAgeMs = getLong(MAX_EVENT_AGE_CONFIG);
+        this.eventTimeField = getString(EVENT_TIME_FIELD_CONFIG);
+        this.maxEventAgeDlqEnabled = getBoolean(MAX_EVENT_AGE_DLQ_ENABLED_CONFIG);
+        if (catchUpFreshnessSloMs > catchUpLagThresholdMs) {
+            throw new ConfigException(CATCH_UP_FRESHNESS_SLO_CONFIG, catchUpFreshnessSloMs,
+                    "The freshness SLO must not exceed " + CATCH_UP_LAG_THRESHOLD_CONFIG + ".");
+        }
+
+        // Metrics configurations
+        this.metricsIngestEnabled = getBoolean(METRICS_INGEST_ENABLED_CONFIG);
+
         // Logging configurations
         this.loggingEventDataEnabled = getBoolean(LOGGING_EVENT_DATA_ENABLED_CONFIG);
+        this.loggingThroughputIntervalMs = getLong(LOGGING_THROUGHPUT_INTERVAL_CONFIG);
     }
 
     /**
@@ -242,6 +626,26 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
                 ++orderInGroup,
                 Width.SHORT,
                 BATCH_MAX_SIZE_DISPLAY
+        ).define(
+                COMPACTION_ENABLED_CONFIG,
+                Type.BOOLEAN,
+                COMPACTION_ENABLED_DEFAULT,
+                Importance.LOW,
+                COMPACTION_ENABLED_DOC,
+                CONNECTOR_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                COMPACTION_ENABLED_DISPLAY
+        ).define(
+                COMPACTION_KEY_FIELDS_CONFIG,
+                Type.LIST,
+                COMPACTION_KEY_FIELDS_DEFAULT,
+                Importance.LOW,
+                COMPACTION_KEY_FIELDS_DOC,
+                CONNECTOR_GROUP,
+                ++orderInGroup,
+                Width.MEDIUM,
+                COMPACTION_KEY_FIELDS_DISPLAY
         );
 
         // HTTP configurations
@@ -321,6 +725,49 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
                 ++orderInGroup,
                 Width.SHORT,
                 HTTP_ASYNC_ENABLED_DISPLAY
+        ).define(
+                HTTP_CONCURRENCY_LIMIT_CONFIG,
+                Type.INT,
+                HTTP_CONCURRENCY_LIMIT_DEFAULT,
+                Range.between(1, 1000),
+                Importance.MEDIUM,
+                HTTP_CONCURRENCY_LIMIT_DOC,
+                HTTP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                HTTP_CONCURRENCY_LIMIT_DISPLAY
+        ).define(
+                HTTP_SYNC_PARALLEL_ENABLED_CONFIG,
+                Type.BOOLEAN,
+                HTTP_SYNC_PARALLEL_ENABLED_DEFAULT,
+                Importance.LOW,
+                HTTP_SYNC_PARALLEL_ENABLED_DOC,
+                HTTP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                HTTP_SYNC_PARALLEL_ENABLED_DISPLAY
+        ).define(
+                BUFFER_MEMORY_CONFIG,
+                Type.LONG,
+                BUFFER_MEMORY_DEFAULT,
+                Range.atLeast(1024L),
+                Importance.MEDIUM,
+                BUFFER_MEMORY_DOC,
+                HTTP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                BUFFER_MEMORY_DISPLAY
+        ).define(
+                BUFFER_MAX_BLOCK_CONFIG,
+                Type.LONG,
+                BUFFER_MAX_BLOCK_DEFAULT,
+                Range.atLeast(0L),
+                Importance.LOW,
+                BUFFER_MAX_BLOCK_DOC,
+                HTTP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                BUFFER_MAX_BLOCK_DISPLAY
         ).define(
                 HTTP_MAX_RETRIES_CONFIG,
                 Type.INT,
@@ -365,6 +812,17 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
                 ++orderInGroup,
                 Width.SHORT,
                 KEEP_ALIVE_DURATION_DISPLAY
+        ).define(
+                HTTP_RESPONSE_MODE_CONFIG,
+                Type.STRING,
+                HTTP_RESPONSE_MODE_DEFAULT,
+                ValidString.in("FULL", "STREAM", "DISCARD"),
+                Importance.LOW,
+                HTTP_RESPONSE_MODE_DOC,
+                HTTP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                HTTP_RESPONSE_MODE_DISPLAY
         );
 
         // Kafka configurations
@@ -411,6 +869,372 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
                 KAFKA_SANITISE_KEYS_ENABLED_DISPLAY
         );
 
+        // Conversion configurations
+        orderInGroup = 0;
+        configDef.define(
+                CONVERSION_PARALLEL_THRESHOLD_CONFIG,
+                Type.INT,
+                CONVERSION_PARALLEL_THRESHOLD_DEFAULT,
+                Range.atLeast(0),
+                Importance.LOW,
+                CONVERSION_PARALLEL_THRESHOLD_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CONVERSION_PARALLEL_THRESHOLD_DISPLAY
+        ).define(
+                CONVERSION_PARALLELISM_CONFIG,
+                Type.INT,
+                CONVERSION_PARALLELISM_DEFAULT,
+                Range.between(0, 256),
+                Importance.LOW,
+                CONVERSION_PARALLELISM_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CONVERSION_PARALLELISM_DISPLAY
+        ).define(
+                RECORD_MAX_DEPTH_CONFIG,
+                Type.INT,
+                RECORD_MAX_DEPTH_DEFAULT,
+                Range.between(1, 1000),
+                Importance.LOW,
+                RECORD_MAX_DEPTH_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                RECORD_MAX_DEPTH_DISPLAY
+        ).define(
+                RECORD_MAX_VALUES_CONFIG,
+                Type.INT,
+                RECORD_MAX_VALUES_DEFAULT,
+                Range.atLeast(1),
+                Importance.LOW,
+                RECORD_MAX_VALUES_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                RECORD_MAX_VALUES_DISPLAY
+        ).define(
+                DECIMAL_FORMAT_CONFIG,
+                Type.STRING,
+                DECIMAL_FORMAT_DEFAULT,
+                ValidString.in("NUMERIC", "STRING", "BASE64"),
+                Importance.LOW,
+                DECIMAL_FORMAT_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                DECIMAL_FORMAT_DISPLAY
+        ).define(
+                DECIMAL_FORMAT_OVERRIDES_CONFIG,
+                Type.LIST,
+                DECIMAL_FORMAT_OVERRIDES_DEFAULT,
+                Importance.LOW,
+                DECIMAL_FORMAT_OVERRIDES_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.LONG,
+                DECIMAL_FORMAT_OVERRIDES_DISPLAY
+        ).define(
+                TIMESTAMP_FORMAT_CONFIG,
+                Type.STRING,
+                TIMESTAMP_FORMAT_DEFAULT,
+                ValidString.in("RFC3339", "EPOCH_MILLIS"),
+                Importance.LOW,
+                TIMESTAMP_FORMAT_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                TIMESTAMP_FORMAT_DISPLAY
+        ).define(
+                FIELD_NAME_CACHE_SIZE_CONFIG,
+                Type.INT,
+                FIELD_NAME_CACHE_SIZE_DEFAULT,
+                Range.atLeast(0),
+                Importance.LOW,
+                FIELD_NAME_CACHE_SIZE_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                FIELD_NAME_CACHE_SIZE_DISPLAY
+        ).define(
+                FIELDS_INCLUDE_CONFIG,
+                Type.LIST,
+                FIELDS_INCLUDE_DEFAULT,
+                Importance.MEDIUM,
+                FIELDS_INCLUDE_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.LONG,
+                FIELDS_INCLUDE_DISPLAY
+        ).define(
+                FIELDS_RENAME_CONFIG,
+                Type.LIST,
+                FIELDS_RENAME_DEFAULT,
+                Importance.MEDIUM,
+                FIELDS_RENAME_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.LONG,
+                FIELDS_RENAME_DISPLAY
+        ).define(
+                FLATTEN_ENABLED_CONFIG,
+                Type.BOOLEAN,
+                FLATTEN_ENABLED_DEFAULT,
+                Importance.MEDIUM,
+                FLATTEN_ENABLED_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                FLATTEN_ENABLED_DISPLAY
+        ).define(
+                FLATTEN_DELIMITER_CONFIG,
+                Type.STRING,
+                FLATTEN_DELIMITER_DEFAULT,
+                Importance.LOW,
+                FLATTEN_DELIMITER_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                FLATTEN_DELIMITER_DISPLAY
+        ).define(
+                OMIT_NULL_FIELDS_CONFIG,
+                Type.BOOLEAN,
+                OMIT_NULL_FIELDS_DEFAULT,
+                Importance.MEDIUM,
+                OMIT_NULL_FIELDS_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                OMIT_NULL_FIELDS_DISPLAY
+        ).define(
+                OMIT_DEFAULT_FIELDS_CONFIG,
+                Type.BOOLEAN,
+                OMIT_DEFAULT_FIELDS_DEFAULT,
+                Importance.LOW,
+                OMIT_DEFAULT_FIELDS_DOC,
+                CONVERSION_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                OMIT_DEFAULT_FIELDS_DISPLAY
+        );
+
+        // Routing configurations
+        orderInGroup = 0;
+        configDef.define(
+                ROUTES_CONFIG,
+                Type.LIST,
+                ROUTES_DEFAULT,
+                Importance.MEDIUM,
+                ROUTES_DOC,
+                ROUTING_GROUP,
+                ++orderInGroup,
+                Width.LONG,
+                ROUTES_DISPLAY
+        ).define(
+                ROUTING_FIELD_CONFIG,
+                Type.STRING,
+                ROUTING_FIELD_DEFAULT,
+                Importance.LOW,
+                ROUTING_FIELD_DOC,
+                ROUTING_GROUP,
+                ++orderInGroup,
+                Width.MEDIUM,
+                ROUTING_FIELD_DISPLAY
+        ).define(
+                ROUTING_VALUES_CONFIG,
+                Type.LIST,
+                ROUTING_VALUES_DEFAULT,
+                Importance.LOW,
+                ROUTING_VALUES_DOC,
+                ROUTING_GROUP,
+                ++orderInGroup,
+                Width.LONG,
+                ROUTING_VALUES_DISPLAY
+        );
+
+        // Spill configurations
+        orderInGroup = 0;
+        configDef.define(
+                SPILL_ENABLED_CONFIG,
+                Type.BOOLEAN,
+                SPILL_ENABLED_DEFAULT,
+                Importance.MEDIUM,
+                SPILL_ENABLED_DOC,
+                SPILL_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                SPILL_ENABLED_DISPLAY
+        ).define(
+                SPILL_DIR_CONFIG,
+                Type.STRING,
+                SPILL_DIR_DEFAULT,
+                Importance.MEDIUM,
+                SPILL_DIR_DOC,
+                SPILL_GROUP,
+                ++orderInGroup,
+                Width.LONG,
+                SPILL_DIR_DISPLAY
+        ).define(
+                SPILL_SEGMENT_BYTES_CONFIG,
+                Type.INT,
+                SPILL_SEGMENT_BYTES_DEFAULT,
+                Range.atLeast(64 * 1024),
+                Importance.LOW,
+                SPILL_SEGMENT_BYTES_DOC,
+                SPILL_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                SPILL_SEGMENT_BYTES_DISPLAY
+        ).define(
+                SPILL_MAX_BYTES_CONFIG,
+                Type.LONG,
+                SPILL_MAX_BYTES_DEFAULT,
+                Range.atLeast(64L * 1024),
+                Importance.LOW,
+                SPILL_MAX_BYTES_DOC,
+                SPILL_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                SPILL_MAX_BYTES_DISPLAY
+        ).define(
+                SPILL_DRAIN_BACKOFF_CONFIG,
+                Type.LONG,
+                SPILL_DRAIN_BACKOFF_DEFAULT,
+                Range.atLeast(0L),
+                Importance.LOW,
+                SPILL_DRAIN_BACKOFF_DOC,
+                SPILL_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                SPILL_DRAIN_BACKOFF_DISPLAY
+        );
+
+        // Catch-up configurations
+        orderInGroup = 0;
+        configDef.define(
+                CATCH_UP_ENABLED_CONFIG,
+                Type.BOOLEAN,
+                CATCH_UP_ENABLED_DEFAULT,
+                Importance.MEDIUM,
+                CATCH_UP_ENABLED_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CATCH_UP_ENABLED_DISPLAY
+        ).define(
+                CATCH_UP_LAG_THRESHOLD_CONFIG,
+                Type.LONG,
+                CATCH_UP_LAG_THRESHOLD_DEFAULT,
+                Range.atLeast(0L),
+                Importance.LOW,
+                CATCH_UP_LAG_THRESHOLD_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CATCH_UP_LAG_THRESHOLD_DISPLAY
+        ).define(
+                CATCH_UP_PUT_SIZE_THRESHOLD_CONFIG,
+                Type.INT,
+                CATCH_UP_PUT_SIZE_THRESHOLD_DEFAULT,
+                Range.atLeast(0),
+                Importance.LOW,
+                CATCH_UP_PUT_SIZE_THRESHOLD_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CATCH_UP_PUT_SIZE_THRESHOLD_DISPLAY
+        ).define(
+                CATCH_UP_FRESHNESS_SLO_CONFIG,
+                Type.LONG,
+                CATCH_UP_FRESHNESS_SLO_DEFAULT,
+                Range.atLeast(0L),
+                Importance.LOW,
+                CATCH_UP_FRESHNESS_SLO_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CATCH_UP_FRESHNESS_SLO_DISPLAY
+        ).define(
+                CATCH_UP_BATCH_MAX_SIZE_CONFIG,
+                Type.INT,
+                CATCH_UP_BATCH_MAX_SIZE_DEFAULT,
+                Range.between(1, 10000),
+                Importance.LOW,
+                CATCH_UP_BATCH_MAX_SIZE_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CATCH_UP_BATCH_MAX_SIZE_DISPLAY
+        ).define(
+                CATCH_UP_CONCURRENCY_LIMIT_CONFIG,
+                Type.INT,
+                CATCH_UP_CONCURRENCY_LIMIT_DEFAULT,
+                Range.between(1, 1000),
+                Importance.LOW,
+                CATCH_UP_CONCURRENCY_LIMIT_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CATCH_UP_CONCURRENCY_LIMIT_DISPLAY
+        ).define(
+                CATCH_UP_GZIP_ENABLED_CONFIG,
+                Type.BOOLEAN,
+                CATCH_UP_GZIP_ENABLED_DEFAULT,
+                Importance.LOW,
+                CATCH_UP_GZIP_ENABLED_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                CATCH_UP_GZIP_ENABLED_DISPLAY
+        ).define(
+                MAX_EVENT_AGE_CONFIG,
+                Type.LONG,
+                MAX_EVENT_AGE_DEFAULT,
+                Range.atLeast(0),
+                Importance.MEDIUM,
+                MAX_EVENT_AGE_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                MAX_EVENT_AGE_DISPLAY
+        ).define(
+                EVENT_TIME_FIELD_CONFIG,
+                Type.STRING,
+                EVENT_TIME_FIELD_DEFAULT,
+                Importance.LOW,
+                EVENT_TIME_FIELD_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.MEDIUM,
+                EVENT_TIME_FIELD_DISPLAY
+        ).define(
+                MAX_EVENT_AGE_DLQ_ENABLED_CONFIG,
+                Type.BOOLEAN,
+                MAX_EVENT_AGE_DLQ_ENABLED_DEFAULT,
+                Importance.LOW,
+                MAX_EVENT_AGE_DLQ_ENABLED_DOC,
+                CATCH_UP_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                MAX_EVENT_AGE_DLQ_ENABLED_DISPLAY
+        );
+
+        // Metrics configurations
+        orderInGroup = 0;
+        configDef.define(
+                METRICS_INGEST_ENABLED_CONFIG,
+                Type.BOOLEAN,
+                METRICS_INGEST_ENABLED_DEFAULT,
+                Importance.LOW,
+                METRICS_INGEST_ENABLED_DOC,
+                METRICS_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                METRICS_INGEST_ENABLED_DISPLAY
+        );
+
         // Logging configurations
         orderInGroup = 0;
         configDef.define(
@@ -423,11 +1247,139 @@ public class TectonHttpSinkConnectorConfig extends AbstractConfig {
                 ++orderInGroup,
                 Width.SHORT,
                 LOGGING_EVENT_DATA_ENABLED_DISPLAY
+        ).define(
+                LOGGING_THROUGHPUT_INTERVAL_CONFIG,
+                Type.LONG,
+                LOGGING_THROUGHPUT_INTERVAL_DEFAULT,
+                Range.atLeast(0),
+                Importance.LOW,
+                LOGGING_THROUGHPUT_INTERVAL_DOC,
+                LOGGING_GROUP,
+                ++orderInGroup,
+                Width.SHORT,
+                LOGGING_THROUGHPUT_INTERVAL_DISPLAY
         );
 
         return configDef;
     }
 
+    /**
+     * Returns the top-level fields to send to a push source, or an empty list to send every field.
+     */
+    public List<String> fieldsInclude(String pushSource) {
+        return pushSourceFieldsInclude.getOrDefault(pushSource, fieldsInclude);
+    }
+
+    /**
+     * Returns the top-level field renames for a push source.
+     */
+    public Map<String, String> fieldsRename(String pushSource) {
+        return pushSourceFieldsRename.getOrDefault(pushSource, fieldsRename);
+    }
+
+    /**
+     * Returns whether null fields are left out of records written to a push source.
+     */
+    public boolean omitNullFields(String pushSource) {
+        return pushSourceOmitNullFields.getOrDefault(pushSource, omitNullFields);
+    }
+
+    /**
+     * Returns whether Struct fields equal to their schema default are left out of records written to a push source.
+     */
+    public boolean omitDefaultFields(String pushSource) {
+        return pushSourceOmitDefaultFields.getOrDefault(pushSource, omitDefaultFields);
+    }
+
+    /**
+     * Returns the maximum age of the records sent to a push source, or 0 if records are never skipped for their age.
+     */
+    public long maxEventAgeMs(String pushSource) {
+        return pushSourceMaxEventAgeMs.getOrDefault(pushSource, maxEventAgeMs);
+    }
+
+    /**
+     * Returns whether records of any push source may be skipped for their age.
+     */
+    public boolean maxEventAgeEnabled() {
+        return maxEventAgeMs > 0 || pushSourceMaxEventAgeMs.values().stream().anyMatch(maxEventAge -> maxEventAge > 0);
+    }
+
+    /**
+     * Returns the field holding the event time of records sent to a push source, or null to use the Kafka timestamp.
+     */
+    public String eventTimeField(String pushSource) {
+        return pushSourceEventTimeField.getOrDefault(pushSource, eventTimeField);
+    }
+
+    /**
+     * Parses the tecton.route.<name>.* settings of each route, in the order the routes are listed.
+     */
+    private List<Route> parseRoutes(List<String> names) {
+        Map<String, String> originals = originalsStrings();
+        List<Route> parsed = new ArrayList<>(names.size());
+        for (String name : names) {
+            String prefix = ROUTE_PREFIX + name;
+            String regex = originals.get(prefix + ROUTE_TOPICS_REGEX_SUFFIX);
+            if (regex == null || regex.trim().isEmpty()) {
+                throw new ConfigException(prefix + ROUTE_TOPICS_REGEX_SUFFIX, regex, "Every route must define a topic regex.");
+            }
+            Pattern topicPattern;
+            try {
+                topicPattern = Pattern.compile(regex.trim());
+            } catch (PatternSyntaxException e) {
+                throw new ConfigException(prefix + ROUTE_TOPICS_REGEX_SUFFIX, regex, "Invalid regex: " + e.getDescription());
+            }
+            String batchMaxSize = originals.get(prefix + ROUTE_BATCH_MAX_SIZE_SUFFIX);
+            int routeBatchMaxSize = this.batchMaxSize;
+            if (batchMaxSize != null) {
+                routeBatchMaxSize = (Integer) ConfigDef.parseType(prefix + ROUTE_BATCH_MAX_SIZE_SUFFIX, batchMaxSize, Type.INT);
+                Range.atLeast(1).ensureValid(prefix + ROUTE_BATCH_MAX_SIZE_SUFFIX, routeBatchMaxSize);
+            }
+            String routingValues = originals.get(prefix + ROUTE_ROUTING_VALUES_SUFFIX);
+            parsed.add(new Route(
+                    name,
+                    topicPattern,
+                    originals.get(prefix + ROUTE_PUSH_SOURCE_SUFFIX),
+                    originals.getOrDefault(prefix + ROUTE_WORKSPACE_SUFFIX, workspaceName),
+                    routeBatchMaxSize,
+                    originals.get(prefix + ROUTE_ROUTING_FIELD_SUFFIX),
+                    routingValues == null
+                            ? Collections.emptyMap()
+                            : parseMappings(prefix + ROUTE_ROUTING_VALUES_SUFFIX,
+                                    parseList(prefix + ROUTE_ROUTING_VALUES_SUFFIX, routingValues))));
+        }
+        return Collections.unmodifiableList(parsed);
+    }
+
+    private static String pushSourceOf(String name, String suffix) {
+        return name.substring(PUSH_SOURCE_OVERRIDE_PREFIX.length(), name.length() - suffix.length());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> parseList(String name, String value) {
+        return (List<String>) ConfigDef.parseType(name, value, Type.LIST);
+    }
+
+    private static boolean parseBoolean(String name, String value) {
+        return (Boolean) ConfigDef.parseType(name, value, Type.BOOLEAN);
+    }
+
+    /**
+     * Parses a list of key:value entries into an ordered map.
+     */
+    private static Map<String, String> parseMappings(String name, List<String> entries) {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        for (String entry : entries) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new ConfigException(name, entries, "Entries must be formatted as key:value, got '" + entry + "'.");
+            }
+            mappings.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        return Collections.unmodifiableMap(mappings);
+    }
+
     /**
      * Custom validator for a URL field.
      */
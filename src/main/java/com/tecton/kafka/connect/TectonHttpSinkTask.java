@@ -1,15 +1,23 @@
 package com.tecton.kafka.connect;
 
+import com.tecton.connector.client.BufferPool;
 import com.tecton.connector.client.HttpClient;
 import com.tecton.connector.client.RetryInterceptor;
 import com.tecton.connector.client.TectonHttpClient;
 import com.tecton.connector.client.TimingEventListener;
 import com.tecton.connector.converter.JsonRecordConverter;
 import com.tecton.connector.error.ConnectorException;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import com.tecton.connector.metrics.FreshnessMetrics;
+import com.tecton.connector.metrics.IngestMetricsCounters;
+import com.tecton.connector.metrics.ThroughputReporter;
 import com.tecton.connector.processor.BatchRecordProcessor;
 import com.tecton.connector.processor.DefaultErrorHandler;
 import com.tecton.connector.processor.RecordProcessor;
+import com.tecton.connector.routing.Router;
+import com.tecton.connector.spill.SpillLog;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
@@ -21,6 +29,9 @@ import org.apache.kafka.connect.sink.SinkTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -35,6 +46,9 @@ public class TectonHttpSinkTask extends SinkTask {
     private TectonHttpSinkConnectorConfig config;
     private RecordProcessor recordProcessor;
     private HttpClient httpClient;
+    private ConnectorMetrics metrics;
+    private SpillLog spillLog;
+    private ThroughputReporter throughputReporter;
 
     @Override
     public String version() {
@@ -47,6 +61,17 @@ public class TectonHttpSinkTask extends SinkTask {
 
         // Load configuration
         this.config = new TectonHttpSinkConnectorConfig(props);
+        String connectorName = props.getOrDefault("name", "tecton-http-sink");
+        String taskId = props.getOrDefault(TectonHttpSinkConnector.TASK_ID_PROPERTY, "0");
+        this.metrics = new ConnectorMetrics(connectorName, taskId);
+        if (config.loggingThroughputIntervalMs > 0) {
+            this.throughputReporter = new ThroughputReporter(config.loggingThroughputIntervalMs);
+        }
+
+        // Bound the number of concurrent asynchronous requests
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.httpConcurrencyLimit);
+        dispatcher.setMaxRequestsPerHost(config.httpConcurrencyLimit);
 
         // Build OkHttpClient with timeouts, pool, etc.
         OkHttpClient okHttpClient = new OkHttpClient.Builder()
@@ -58,6 +83,7 @@ public class TectonHttpSinkTask extends SinkTask {
                         config.connectionPoolSize,
                         config.keepAliveDuration,
                         TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
                 .eventListener(new TimingEventListener())
                 // IMPORTANT: pass the httpRetryBackoff as is, since it's already in ms
                 .addInterceptor(new RetryInterceptor(config.httpMaxRetries, config.httpRetryBackoff))
@@ -69,15 +95,34 @@ public class TectonHttpSinkTask extends SinkTask {
                 .clusterEndpoint(config.httpClusterEndpoint)
                 .authToken(config.httpAuthToken)
                 .loggingEventDataEnabled(config.loggingEventDataEnabled)
+                .bufferPool(new BufferPool(config.bufferMemory, config.bufferMaxBlockMs, metrics))
+                .freshnessMetrics(new FreshnessMetrics(metrics))
+                .ingestMetrics(config.metricsIngestEnabled ? new IngestMetricsCounters(metrics) : null)
+                .responseMode(TectonHttpClient.ResponseMode.valueOf(config.httpResponseMode))
+                .throughputReporter(throughputReporter)
                 .build();
 
+        // Each task spills to its own directory
+        if (config.spillEnabled) {
+            Path spillDir = Paths.get(config.spillDir, connectorName + "-" + taskId);
+            try {
+                spillLog = new SpillLog(spillDir, config.spillSegmentBytes, config.spillMaxBytes, metrics);
+            } catch (IOException e) {
+                throw new ConnectException("Failed to open spill log in " + spillDir, e);
+            }
+        }
+
         // Initialize the record processor
+        Router router = new Router(config);
         recordProcessor = new BatchRecordProcessor(
                 config,
-                new JsonRecordConverter(),
+                new JsonRecordConverter(config, metrics, router),
+                router,
                 httpClient,
                 new DefaultErrorHandler(),
-                initialiseErrantRecordReporter()
+                initialiseErrantRecordReporter(),
+                metrics,
+                spillLog
         );
 
         LOG.info("TectonHttpSinkTask initialized successfully");
@@ -90,7 +135,10 @@ public class TectonHttpSinkTask extends SinkTask {
             return;
         }
 
-        LOG.info("Processing {} records", records.size());
+        LOG.debug("Processing {} records", records.size());
+        if (throughputReporter != null) {
+            throughputReporter.recordPut(records.size());
+        }
         try {
             recordProcessor.processRecords(records);
         } catch (ConnectException e) {
@@ -104,7 +152,9 @@ public class TectonHttpSinkTask extends SinkTask {
 
     @Override
     public void flush(final Map<TopicPartition, OffsetAndMetadata> offsets) {
-        LOG.debug("Flushing data (no-op)");
+        // Offsets are committed once this returns, so wait for batches still in flight to be sent or spilled
+        LOG.debug("Flushing in-flight batches");
+        recordProcessor.flush();
     }
 
     @Override
@@ -118,6 +168,15 @@ public class TectonHttpSinkTask extends SinkTask {
                 httpClient.close();
                 LOG.info("Tecton HTTP client shut down successfully");
             }
+            if (spillLog != null) {
+                spillLog.close();
+            }
+            if (throughputReporter != null) {
+                throughputReporter.close();
+            }
+            if (metrics != null) {
+                metrics.close();
+            }
         } catch (Exception e) {
             LOG.error("Error during task shutdown", e);
         }
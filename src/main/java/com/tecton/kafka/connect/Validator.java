@@ -50,10 +50,10 @@ public class Validator {
                 "Workspace name must be specified and cannot be empty."
             );
         }
-        if (isNullOrEmpty(config.pushSourceName)) {
+        if (isNullOrEmpty(config.pushSourceName) && config.routes.isEmpty()) {
             addErrorMessage(
                 TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG,
-                "Push source name must be specified and cannot be empty."
+                "Push source name must be specified and cannot be empty, unless routes are configured."
             );
         }
         if (isNullOrEmpty(config.httpClusterEndpoint)) {
@@ -0,0 +1,105 @@
+package com.tecton.connector.processor;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory for the executors used to send synchronous batches concurrently.
+ * <p>
+ * This is the Java 21 implementation, packaged under {@code META-INF/versions/21}. Each send runs on its
+ * own virtual thread, so blocking on the HTTP call does not tie up a platform thread. A semaphore keeps at
+ * most {@code concurrency} sends running, like the Java 8 thread pool; the others wait on their virtual
+ * thread for a permit.
+ */
+public final class SendExecutors {
+
+    private static final String THREAD_NAME_PREFIX = "tecton-sync-send-";
+
+    private SendExecutors() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each send.
+     *
+     * @param concurrency The maximum number of concurrent sends.
+     * @return A new ExecutorService.
+     */
+    public static ExecutorService newSendExecutor(int concurrency) {
+        return new BoundedExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 1).factory()),
+                new Semaphore(concurrency));
+    }
+
+    /**
+     * Describes the kind of threads used by this implementation, for logging.
+     *
+     * @return A short description of the executor.
+     */
+    public static String description() {
+        return "virtual threads";
+    }
+
+    /**
+     * Runs each task on the delegate once a permit is available, releasing it when the task completes.
+     */
+    private static final class BoundedExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        BoundedExecutor(ExecutorService delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // Interrupted by shutdownNow() before starting: run the task anyway so that its future
+                    // completes, letting it observe the interrupt.
+                    Thread.currentThread().interrupt();
+                    task.run();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
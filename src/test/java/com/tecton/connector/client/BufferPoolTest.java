@@ -0,0 +1,133 @@
+package com.tecton.connector.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.error.HttpClientException;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import okio.BufferedSink;
+import okio.Okio;
+
+class BufferPoolTest {
+
+    private final ConnectorMetrics metrics = new ConnectorMetrics("buffer-pool-test", "0");
+
+    @AfterEach
+    void closeMetrics() {
+        metrics.close();
+    }
+
+    @Test
+    void reservesAndReleasesMemory() throws Exception {
+        BufferPool pool = new BufferPool(1000, 100, metrics);
+
+        assertEquals(300, pool.reserve(300));
+        assertEquals(700, pool.availableMemory());
+        pool.release(300);
+        assertEquals(1000, pool.availableMemory());
+    }
+
+    @Test
+    void reservesWholePoolForOversizedBodies() throws Exception {
+        BufferPool pool = new BufferPool(1000, 100, metrics);
+
+        assertEquals(1000, pool.reserve(5000));
+        assertEquals(0, pool.availableMemory());
+    }
+
+    @Test
+    void failsAfterMaxBlockTimeAndReturnsPartialMemory() throws Exception {
+        BufferPool pool = new BufferPool(1000, 50, metrics);
+        pool.reserve(800);
+
+        assertThrows(HttpClientException.class, () -> pool.reserve(500));
+        assertEquals(200, pool.availableMemory());
+        assertEquals(0, pool.queued());
+    }
+
+    @Test
+    void servesWaitersInArrivalOrder() throws Exception {
+        BufferPool pool = new BufferPool(1000, TimeUnit.SECONDS.toMillis(10), metrics);
+        long held = pool.reserve(1000);
+        List<String> served = new CopyOnWriteArrayList<>();
+
+        Thread large = reserveInBackground(pool, 800, "large", served);
+        awaitQueued(pool, 1);
+        Thread small = reserveInBackground(pool, 100, "small", served);
+        awaitQueued(pool, 2);
+
+        // Enough for the small body, but the large one arrived first and takes it
+        pool.release(300);
+        Thread.sleep(100);
+        assertTrue(served.isEmpty());
+        assertEquals(0, pool.availableMemory());
+
+        pool.release(held - 300);
+        large.join(5000);
+        small.join(5000);
+        assertTrue(served.containsAll(Arrays.asList("large", "small")));
+        assertEquals(100, pool.availableMemory());
+    }
+
+    @Test
+    void encodesBodiesWithinTheirReservation() throws Exception {
+        BufferPool pool = new BufferPool(1024 * 1024, 100, metrics);
+        PooledRequestBody body = new PooledRequestBody(null, pool);
+
+        try (BufferedSink sink = Okio.buffer(body.sink())) {
+            sink.write(new byte[200 * 1024]);
+        }
+        body.trimReservation();
+
+        assertEquals(1024 * 1024 - 200 * 1024, pool.availableMemory());
+        body.release();
+        assertEquals(1024 * 1024, pool.availableMemory());
+    }
+
+    @Test
+    void failsEncodingWhenMemoryIsExhausted() throws Exception {
+        BufferPool pool = new BufferPool(128 * 1024, 50, metrics);
+        pool.reserve(128 * 1024);
+        PooledRequestBody body = new PooledRequestBody(null, pool);
+        BufferedSink sink = Okio.buffer(body.sink());
+
+        assertThrows(PooledRequestBody.BufferExhaustedException.class, () -> {
+            sink.write(new byte[64 * 1024]);
+            sink.flush();
+        });
+        // Later writes fail without blocking again
+        long start = System.nanoTime();
+        assertThrows(PooledRequestBody.BufferExhaustedException.class, sink::close);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        body.release();
+        assertEquals(0, pool.availableMemory());
+    }
+
+    private static Thread reserveInBackground(BufferPool pool, long size, String name, List<String> served) {
+        Thread thread = new Thread(() -> {
+            try {
+                pool.reserve(size);
+                served.add(name);
+            } catch (HttpClientException e) {
+                served.add(name + " failed");
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitQueued(BufferPool pool, int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.queued() < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(waiters, pool.queued());
+    }
+}
@@ -0,0 +1,108 @@
+package com.tecton.connector.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import com.tecton.connector.metrics.IngestMetricsCounters;
+import com.tecton.connector.model.TectonApiRequest;
+import com.tecton.connector.model.TectonApiResponse;
+import com.tecton.connector.model.TectonRecord;
+
+class TectonHttpClientTest {
+
+    private static final String RESPONSE = "{\"workspaceName\":\"workspace\",\"ingestMetrics\":{"
+            + "\"featureViewIngestMetrics\":[{\"featureViewName\":\"fv\",\"onlineRecordIngestCount\":\"1\"}]}}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final ConnectorMetrics metrics = new ConnectorMetrics("tecton-http-client-test", "0");
+    private final IngestMetricsCounters ingestMetrics = new IngestMetricsCounters(metrics);
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        server.shutdown();
+        metrics.close();
+    }
+
+    @Test
+    void acknowledgesStreamedResponseWhoseBodyCannotBeRead() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{\"ingestMetrics\":{bad"));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{\"ingestMetrics\":[1,"));
+
+        try (TectonHttpClient client = client(TectonHttpClient.ResponseMode.STREAM)) {
+            assertNull(client.sendSync(request()));
+            assertNull(client.sendAsync(request()).get());
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void countsStreamedIngestMetricsWithoutBindingResponse() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody(RESPONSE));
+
+        try (TectonHttpClient client = client(TectonHttpClient.ResponseMode.STREAM)) {
+            assertNull(client.sendSync(request()));
+        }
+        assertEquals(1.0, onlineRecordsIngested());
+    }
+
+    @Test
+    void bindsFullResponse() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody(RESPONSE));
+
+        try (TectonHttpClient client = client(TectonHttpClient.ResponseMode.FULL)) {
+            TectonApiResponse response = client.sendSync(request());
+
+            assertEquals("workspace", response.getWorkspaceName());
+        }
+        assertEquals(1.0, onlineRecordsIngested());
+    }
+
+    @Test
+    void discardsResponseUnread() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody(RESPONSE));
+
+        try (TectonHttpClient client = client(TectonHttpClient.ResponseMode.DISCARD)) {
+            assertNull(client.sendSync(request()));
+        }
+        assertEquals(0.0, onlineRecordsIngested());
+    }
+
+    private TectonHttpClient client(TectonHttpClient.ResponseMode responseMode) {
+        String endpoint = server.url("").toString();
+        return new TectonHttpClient.Builder()
+                .client(new OkHttpClient())
+                .clusterEndpoint(endpoint.substring(0, endpoint.length() - 1))
+                .authToken("token")
+                .ingestMetrics(ingestMetrics)
+                .responseMode(responseMode)
+                .build();
+    }
+
+    private double onlineRecordsIngested() {
+        return metrics.metrics().metrics().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals("online-records-ingested-total"))
+                .mapToDouble(entry -> ((Number) entry.getValue().metricValue()).doubleValue())
+                .sum();
+    }
+
+    private static TectonApiRequest request() {
+        return new TectonApiRequest.Builder()
+                .workspaceName("workspace")
+                .addRecord("push_source", TectonRecord.fromRawJson("{\"id\":1}".getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.tecton.connector.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CompactionKeysTest {
+
+    @Test
+    void normalisesEqualNumbersToTheSameText() {
+        assertEquals("1", CompactionKeys.numberText("1"));
+        assertEquals("1", CompactionKeys.numberText("1.0"));
+        assertEquals("1", CompactionKeys.numberText("1e0"));
+        assertEquals("10", CompactionKeys.numberText("10.00"));
+        assertEquals("10", CompactionKeys.numberText("1E1"));
+        assertEquals("0.5", CompactionKeys.numberText("5e-1"));
+    }
+
+    @Test
+    void normalisesJavaNumbersLikeTheirJsonText() {
+        assertEquals("1", CompactionKeys.text(1));
+        assertEquals("1", CompactionKeys.text(1L));
+        assertEquals("1", CompactionKeys.text(1.0d));
+        assertEquals("0.1", CompactionKeys.text(0.1f));
+        assertEquals("10", CompactionKeys.text(new BigDecimal("10.0")));
+        assertEquals("10", CompactionKeys.text(BigInteger.TEN));
+        assertEquals("1", CompactionKeys.text("1"));
+        assertEquals("true", CompactionKeys.text(true));
+        assertNull(CompactionKeys.text(Collections.emptyMap()));
+    }
+
+    @Test
+    void keepsHugeExponentsShort() {
+        String text = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> CompactionKeys.numberText("1e999999999"));
+        assertEquals("1E+999999999", text);
+        assertEquals("1E-999999999", CompactionKeys.numberText("1e-999999999"));
+        assertEquals("1E+999999999", CompactionKeys.text(new BigDecimal("1e999999999")));
+    }
+
+    @Test
+    void writesLargeIntegersAndTheirExponentFormAlike() {
+        StringBuilder integer = new StringBuilder("1");
+        for (int i = 0; i < 100; i++) {
+            integer.append('0');
+        }
+        assertEquals(CompactionKeys.numberText("1e100"), CompactionKeys.numberText(integer.toString()));
+        assertEquals(CompactionKeys.numberText("1e100"), CompactionKeys.text(new BigInteger(integer.toString())));
+    }
+
+    @Test
+    void comparesUnparseableExponentsAsWritten() {
+        assertEquals("1e99999999999", CompactionKeys.numberText("1e99999999999"));
+    }
+
+    @Test
+    void returnsNullKeyWhenNoFieldIsPresent() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", 7L);
+        data.put("region", "eu");
+
+        assertEquals(Arrays.asList("7", "eu"), CompactionKeys.of(data, Arrays.asList("id", "region")));
+        assertEquals(Arrays.asList("7", null), CompactionKeys.of(data, Arrays.asList("id", "tenant")));
+        assertNull(CompactionKeys.of(data, Collections.singletonList("tenant")));
+    }
+}
@@ -0,0 +1,194 @@
+package com.tecton.connector.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.connector.util.JsonUtil;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+class FieldPlanTest {
+
+    private final FieldNameInterner interner = new FieldNameInterner(100);
+    private final StreamingJsonConverter streamingConverter = new StreamingJsonConverter(
+            JsonUtil.getObjectMapper().getFactory(), 16, 1000, Collections.emptyList());
+    private final MapConverter mapConverter = new MapConverter(16, 1000);
+
+    @Test
+    void projectsAndRenamesTopLevelFieldsOnly() {
+        FieldPlan plan = new FieldPlan.Builder()
+                .include(Arrays.asList("id", "amount"))
+                .rename(Collections.singletonMap("amount", "value"))
+                .names(interner, null)
+                .build();
+
+        assertFalse(plan.isIdentity());
+        assertEquals("id", plan.fieldName("id"));
+        assertEquals("value", plan.fieldName("amount"));
+        assertNull(plan.fieldName("secret"));
+        assertEquals("amount", plan.nestedName("amount"));
+    }
+
+    @Test
+    void appliesPlanToJsonAndMapValuesAlike() throws Exception {
+        FieldPlan plan = new FieldPlan.Builder()
+                .include(Arrays.asList("id", "amount", "detail"))
+                .rename(Collections.singletonMap("amount", "value"))
+                .names(interner, null)
+                .build();
+        Map<String, Object> detail = Collections.singletonMap("amount", 1);
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("id", 1);
+        value.put("secret", "s");
+        value.put("amount", 2.5);
+        value.put("detail", detail);
+
+        byte[] json = streamingConverter.convert(JsonUtil.toJsonBytes(value), plan, null, null, null).getRawJson();
+
+        assertEquals("{\"id\":1,\"value\":2.5,\"detail\":{\"amount\":1}}", new String(json, StandardCharsets.UTF_8));
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 1);
+        expected.put("value", 2.5);
+        expected.put("detail", detail);
+        assertEquals(expected, mapConverter.convert(value, plan));
+    }
+
+    @Test
+    void rejectsRenamesCollidingWithAnotherField() {
+        FieldPlan plan = new FieldPlan.Builder()
+                .rename(Collections.singletonMap("amount", "value"))
+                .names(interner, null)
+                .build();
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("amount", 1);
+        value.put("value", 2);
+
+        assertThrows(InvalidRecordException.class, () -> mapConverter.convert(value, plan));
+        assertThrows(InvalidRecordException.class, () -> streamingConverter.convert(
+                "{\"value\":2,\"amount\":1}".getBytes(StandardCharsets.UTF_8), plan, null, null, null));
+    }
+
+    @Test
+    void flattensNestedObjectsButNotArrays() throws Exception {
+        FieldPlan plan = flatteningPlan();
+        String json = "{\"a\":{\"b\":1,\"c\":{\"d\":2}},\"e\":[{\"f\":3}]}";
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("a.b", 1);
+        expected.put("a.c.d", 2);
+        expected.put("e", Collections.singletonList(Collections.singletonMap("f", 3)));
+
+        byte[] flattened = streamingConverter.convert(json.getBytes(StandardCharsets.UTF_8), plan, null, null, null)
+                .getRawJson();
+
+        assertEquals("{\"a.b\":1,\"a.c.d\":2,\"e\":[{\"f\":3}]}", new String(flattened, StandardCharsets.UTF_8));
+        assertEquals(expected, mapConverter.convert(JsonUtil.getObjectMapper().readValue(json, Map.class), plan));
+    }
+
+    @Test
+    void flattensStructsAndTheirNullParents() throws Exception {
+        Schema inner = SchemaBuilder.struct().optional().field("b", Schema.OPTIONAL_INT32_SCHEMA).build();
+        Schema schema = SchemaBuilder.struct().field("id", Schema.INT32_SCHEMA).field("a", inner).build();
+        StructConverter converter = new StructConverter(config(), interner, null);
+        StructConverter.Plan plan = converter.compile(schema, flatteningPlan());
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 1);
+        expected.put("a.b", 2);
+
+        assertEquals(expected, converter.convert(
+                new Struct(schema).put("id", 1).put("a", new Struct(inner).put("b", 2)), plan));
+        expected.put("a.b", null);
+        assertEquals(expected, converter.convert(new Struct(schema).put("id", 1), plan));
+    }
+
+    @Test
+    void rejectsFlattenedNamesCollidingWithAnotherField() throws Exception {
+        FieldPlan plan = flatteningPlan();
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("a", Collections.singletonMap("b", 1));
+        value.put("a.b", 2);
+        Schema inner = SchemaBuilder.struct().field("b", Schema.INT32_SCHEMA).build();
+        Schema schema = SchemaBuilder.struct().field("a.b", Schema.INT32_SCHEMA).field("a", inner).build();
+        StructConverter structConverter = new StructConverter(config(), interner, null);
+
+        assertThrows(InvalidRecordException.class, () -> mapConverter.convert(value, plan));
+        assertThrows(InvalidRecordException.class, () -> streamingConverter.convert(
+                JsonUtil.toJsonBytes(value), plan, null, null, null));
+        assertThrows(InvalidRecordException.class, () -> structConverter.convert(
+                new Struct(schema).put("a.b", 2).put("a", new Struct(inner).put("b", 1)),
+                structConverter.compile(schema, plan)));
+    }
+
+    @Test
+    void omitsNullFieldsAtEveryDepthAndCountsThem() throws Exception {
+        LongAdder omittedFields = new LongAdder();
+        LongAdder omittedBytes = new LongAdder();
+        FieldPlan plan = new FieldPlan.Builder()
+                .names(interner, null)
+                .omit(true, false, omittedFields, omittedBytes)
+                .build();
+        String json = "{\"id\":1,\"note\":null,\"detail\":{\"x\":null,\"y\":[null]}}";
+
+        byte[] converted = streamingConverter.convert(json.getBytes(StandardCharsets.UTF_8), plan, null, null, null)
+                .getRawJson();
+        Map<String, Object> mapped = mapConverter.convert(JsonUtil.getObjectMapper().readValue(json, Map.class), plan);
+
+        assertEquals("{\"id\":1,\"detail\":{\"y\":[null]}}", new String(converted, StandardCharsets.UTF_8));
+        assertEquals("{\"id\":1,\"detail\":{\"y\":[null]}}", new String(JsonUtil.toJsonBytes(mapped), StandardCharsets.UTF_8));
+        assertEquals(4, omittedFields.sum());
+        // "note":null, and "x":null, by each converter
+        assertEquals(2 * (12 + 9), omittedBytes.sum());
+    }
+
+    @Test
+    void omitsStructFieldsEqualToTheirDefault() throws Exception {
+        LongAdder omittedFields = new LongAdder();
+        FieldPlan plan = new FieldPlan.Builder()
+                .names(interner, null)
+                .omit(false, true, omittedFields, new LongAdder())
+                .build();
+        Schema schema = SchemaBuilder.struct()
+                .field("id", Schema.INT32_SCHEMA)
+                .field("status", SchemaBuilder.string().defaultValue("active").build())
+                .field("raw", SchemaBuilder.bytes().defaultValue(new byte[] {0}).build())
+                .field("note", Schema.OPTIONAL_STRING_SCHEMA)
+                .build();
+        Struct struct = new Struct(schema)
+                .put("id", 1)
+                .put("status", "active")
+                .put("raw", ByteBuffer.wrap(new byte[] {0}));
+        StructConverter converter = new StructConverter(config(), interner, null);
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 1);
+        expected.put("note", null);
+
+        assertEquals(expected, converter.convert(struct, converter.compile(schema, plan)));
+        assertEquals(2, omittedFields.sum());
+    }
+
+    private FieldPlan flatteningPlan() {
+        return new FieldPlan.Builder().names(interner, null).flatten(".", 100).build();
+    }
+
+    private static TectonHttpSinkConnectorConfig config() {
+        Map<String, String> props = new HashMap<>();
+        props.put(TectonHttpSinkConnectorConfig.WORKSPACE_NAME_CONFIG, "workspace");
+        props.put(TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG, "push_source");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_CLUSTER_ENDPOINT_CONFIG, "https://example.tecton.ai");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_AUTH_TOKEN_CONFIG, "token");
+        return new TectonHttpSinkConnectorConfig(props);
+    }
+}
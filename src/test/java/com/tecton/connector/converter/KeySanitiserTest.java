@@ -0,0 +1,93 @@
+package com.tecton.connector.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.connector.util.JsonUtil;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+class KeySanitiserTest {
+
+    private final FieldNameInterner interner = new FieldNameInterner(100);
+    private final KeySanitiser sanitiser = new KeySanitiser(100, interner);
+    private final FieldPlan plan = new FieldPlan.Builder().names(interner, sanitiser).build();
+
+    @Test
+    void replacesCharactersOtherThanLettersDigitsAndUnderscores() {
+        assertEquals("user_id_v2", sanitiser.sanitise("user-id.v2"));
+        assertEquals("caf_", sanitiser.sanitise("caf\u00e9"));
+        assertEquals("user_id", sanitiser.sanitise("user_id"));
+    }
+
+    @Test
+    void returnsCanonicalInstances() {
+        assertSame(sanitiser.sanitise(new String("a-b")), sanitiser.sanitise(new String("a-b")));
+        assertSame(interner.intern("plain"), sanitiser.sanitise(new String("plain")));
+    }
+
+    @Test
+    void keepsSanitisingOnceCacheIsFull() {
+        KeySanitiser small = new KeySanitiser(1, interner);
+
+        assertEquals("a_b", small.sanitise("a-b"));
+        assertEquals("c_d", small.sanitise("c-d"));
+        assertEquals("c_d", small.sanitise("c-d"));
+    }
+
+    @Test
+    void rejectsMapKeysCollidingOnceSanitised() throws Exception {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("a-b", 1);
+        value.put("a_b", 2);
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("x", Collections.singletonMap("a.b", 1));
+
+        assertThrows(InvalidRecordException.class, () -> new MapConverter(16, 1000).convert(value, plan));
+        assertEquals(Collections.singletonMap("x", Collections.singletonMap("a_b", 1)),
+                new MapConverter(16, 1000).convert(nested, plan));
+    }
+
+    @Test
+    void rejectsJsonKeysCollidingOnceSanitised() {
+        StreamingJsonConverter converter = new StreamingJsonConverter(
+                JsonUtil.getObjectMapper().getFactory(), 16, 1000, Collections.emptyList());
+
+        assertThrows(InvalidRecordException.class, () -> converter.convert(
+                "{\"a-b\":1,\"a_b\":2}".getBytes(StandardCharsets.UTF_8), plan, null, null, null));
+        assertThrows(InvalidRecordException.class, () -> converter.convert(
+                "{\"x\":{\"a.b\":1,\"a-b\":2}}".getBytes(StandardCharsets.UTF_8), plan, null, null, null));
+    }
+
+    @Test
+    void rejectsStructFieldsCollidingOnceSanitised() {
+        Schema schema = SchemaBuilder.struct()
+                .field("a-b", Schema.INT32_SCHEMA)
+                .field("a_b", Schema.INT32_SCHEMA)
+                .build();
+        Struct struct = new Struct(schema).put("a-b", 1).put("a_b", 2);
+        StructConverter converter = new StructConverter(config(), interner, sanitiser);
+
+        assertThrows(InvalidRecordException.class, () -> converter.convert(struct));
+        assertThrows(InvalidRecordException.class, () -> converter.convert(struct, converter.compile(schema, plan)));
+    }
+
+    private static TectonHttpSinkConnectorConfig config() {
+        Map<String, String> props = new HashMap<>();
+        props.put(TectonHttpSinkConnectorConfig.WORKSPACE_NAME_CONFIG, "workspace");
+        props.put(TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG, "push_source");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_CLUSTER_ENDPOINT_CONFIG, "https://example.tecton.ai");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_AUTH_TOKEN_CONFIG, "token");
+        return new TectonHttpSinkConnectorConfig(props);
+    }
+}
@@ -0,0 +1,159 @@
+package com.tecton.connector.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tecton.connector.model.KafkaMetadata;
+import com.tecton.connector.model.TectonApiRequest;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.util.JsonUtil;
+
+class StreamingJsonConverterTest {
+
+    private static final int MAX_DEPTH = 16;
+    private static final int MAX_VALUES = 1000;
+
+    private final StreamingJsonConverter converter = new StreamingJsonConverter(
+            JsonUtil.getObjectMapper().getFactory(), MAX_DEPTH, MAX_VALUES, Collections.emptyList());
+    private final FieldPlan identity = new FieldPlan.Builder().names(new FieldNameInterner(100), null).build();
+
+    @Test
+    void embedsBareObjectsVerbatim() throws Exception {
+        byte[] json = utf8("{\"id\":1,\"price\":1.50}");
+
+        TectonRecord record = converter.convert(json, identity, null, null, null);
+
+        assertSame(json, record.getRawJson());
+    }
+
+    @Test
+    void dropsByteOrderMarkBeforeEmbedding() throws Exception {
+        byte[] json = concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, utf8("{\"id\":1}"));
+
+        TectonRecord record = converter.convert(json, identity, null, null, null);
+
+        assertEquals("{\"id\":1}", new String(record.getRawJson(), StandardCharsets.UTF_8));
+        assertEquals("{\"id\":1}", requestRecords(record).get(0).get("record").toString());
+    }
+
+    @Test
+    void dropsSurroundingWhitespaceBeforeEmbedding() throws Exception {
+        TectonRecord record = converter.convert(utf8(" \n{\"id\":1}\r\n"), identity, null, null, null);
+
+        assertEquals("{\"id\":1}", new String(record.getRawJson(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void reencodesUtf16AsUtf8() throws Exception {
+        byte[] json = "{\"name\":\"caf\u00e9\"}".getBytes(StandardCharsets.UTF_16LE);
+
+        TectonRecord record = converter.convert(json, identity, null, null, null);
+
+        assertEquals("{\"name\":\"caf\u00e9\"}", new String(record.getRawJson(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void keepsBatchValidWhenOneRecordHasByteOrderMark() throws Exception {
+        TectonRecord bom = converter.convert(
+                concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, utf8("{\"id\":1}")), identity, null, null, null);
+        TectonRecord plain = converter.convert(utf8("{\"id\":2}"), identity, null, null, null);
+
+        JsonNode records = requestRecords(bom, plain);
+
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(0).get("record").get("id").asInt());
+        assertEquals(2, records.get(1).get("record").get("id").asInt());
+    }
+
+    @Test
+    void capturesEventTimeWhileEmbedding() throws Exception {
+        byte[] json = utf8("{\"id\":1,\"ts\":1700000000000}");
+
+        TectonRecord record = converter.convert(json, identity, null, "ts", null);
+
+        assertSame(json, record.getRawJson());
+        assertEquals(Long.valueOf(1700000000000L), record.getEventTime());
+    }
+
+    @Test
+    void capturesEventTimeOfFieldLeftOut() throws Exception {
+        FieldPlan plan = new FieldPlan.Builder()
+                .include(Collections.singletonList("id"))
+                .names(new FieldNameInterner(100), null)
+                .build();
+
+        TectonRecord record = converter.convert(
+                utf8("{\"id\":1,\"ts\":\"2024-01-01T00:00:00Z\"}"), plan, null, "ts", null);
+
+        assertEquals("{\"id\":1}", new String(record.getRawJson(), StandardCharsets.UTF_8));
+        assertEquals(Long.valueOf(1704067200000L), record.getEventTime());
+    }
+
+    @Test
+    void ignoresNestedAndUnreadableEventTimes() throws Exception {
+        assertNull(converter.convert(utf8("{\"nested\":{\"ts\":5}}"), identity, null, "ts", null).getEventTime());
+        assertNull(converter.convert(utf8("{\"ts\":\"yesterday\"}"), identity, null, "ts", null).getEventTime());
+        assertNull(converter.convert(utf8("{\"ts\":1e99}"), identity, null, "ts", null).getEventTime());
+    }
+
+    @Test
+    void leavesOutMetadataFieldsTheRecordAlreadyHas() throws Exception {
+        KafkaMetadata metadata = new KafkaMetadata.Builder().timestamp(5L, false).key("user-1").build();
+
+        TectonRecord record = converter.convert(utf8("{\"kafka_key\":\"own\"}"), identity, null, null, metadata);
+
+        String json = new String(JsonUtil.toJsonBytes(record), StandardCharsets.UTF_8);
+        assertEquals("{\"record\":{\"kafka_key\":\"own\",\"kafka_timestamp\":5}}", json);
+    }
+
+    @Test
+    void capturesScalarRoutingValueOfTopLevelFieldOnly() throws Exception {
+        assertEquals("click", converter.convert(
+                utf8("{\"type\":\"click\"}"), identity, "type", null, null).getRoutingValue());
+        assertEquals("42", converter.convert(
+                utf8("{\"type\":42}"), identity, "type", null, null).getRoutingValue());
+        assertNull(converter.convert(
+                utf8("{\"type\":{\"name\":\"click\"}}"), identity, "type", null, null).getRoutingValue());
+        assertNull(converter.convert(
+                utf8("{\"nested\":{\"type\":\"click\"}}"), identity, "type", null, null).getRoutingValue());
+    }
+
+    @Test
+    void capturesNormalisedCompactionKey() throws Exception {
+        StreamingJsonConverter keyed = new StreamingJsonConverter(
+                JsonUtil.getObjectMapper().getFactory(), MAX_DEPTH, MAX_VALUES, Arrays.asList("id", "region"));
+
+        TectonRecord integer = keyed.convert(utf8("{\"id\":1,\"v\":\"a\"}"), identity, null, null, null);
+        TectonRecord decimal = keyed.convert(utf8("{\"v\":\"b\",\"id\":1.0}"), identity, null, null, null);
+
+        assertEquals(Arrays.asList("1", null), integer.getCompactionKey());
+        assertEquals(integer.getCompactionKey(), decimal.getCompactionKey());
+        assertNull(keyed.convert(utf8("{\"v\":\"c\"}"), identity, null, null, null).getCompactionKey());
+    }
+
+    private static JsonNode requestRecords(TectonRecord... records) throws Exception {
+        TectonApiRequest.Builder builder = new TectonApiRequest.Builder().workspaceName("workspace");
+        for (TectonRecord record : records) {
+            builder.addRecord("push_source", record);
+        }
+        byte[] body = JsonUtil.toJsonBytes(builder.build());
+        return JsonUtil.getObjectMapper().readTree(body).get("records").get("push_source");
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
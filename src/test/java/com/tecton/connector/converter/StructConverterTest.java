@@ -0,0 +1,118 @@
+package com.tecton.connector.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+class StructConverterTest {
+
+    // 2024-01-02T03:04:05.006Z
+    private static final long EPOCH_MILLIS = 1704164645006L;
+
+    private final FieldPlan identity = new FieldPlan.Builder().names(new FieldNameInterner(100), null).build();
+
+    @Test
+    void writesLogicalTypesInTectonForm() throws Exception {
+        Schema schema = SchemaBuilder.struct()
+                .field("amount", Decimal.schema(2))
+                .field("price", Decimal.schema(2))
+                .field("day", Date.SCHEMA)
+                .field("time", Time.SCHEMA)
+                .field("at", Timestamp.SCHEMA)
+                .field("raw", Schema.BYTES_SCHEMA)
+                .build();
+        Struct struct = new Struct(schema)
+                .put("amount", new BigDecimal("12.50"))
+                .put("price", new BigDecimal("0.10"))
+                .put("day", new java.util.Date(19724L * 24 * 60 * 60 * 1000))
+                .put("time", new java.util.Date(3_723_004L))
+                .put("at", new java.util.Date(EPOCH_MILLIS))
+                .put("raw", new byte[] {1, 2, 3});
+
+        Map<String, Object> data = converter(config("price:STRING")).convert(struct);
+
+        assertEquals(new BigDecimal("12.50"), data.get("amount"));
+        assertEquals("0.10", data.get("price"));
+        assertEquals("2024-01-02", data.get("day"));
+        assertEquals("01:02:03.004", data.get("time"));
+        assertEquals("2024-01-02T03:04:05.006Z", data.get("at"));
+        assertEquals("AQID", data.get("raw"));
+    }
+
+    @Test
+    void convertsWithCompiledPlanLikeWithoutOne() throws Exception {
+        Schema address = SchemaBuilder.struct().field("city", Schema.STRING_SCHEMA).build();
+        Schema schema = SchemaBuilder.struct()
+                .field("id", Schema.INT64_SCHEMA)
+                .field("address", address)
+                .field("tags", SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+                .build();
+        Struct struct = new Struct(schema)
+                .put("id", 7L)
+                .put("address", new Struct(address).put("city", "Paris"))
+                .put("tags", Arrays.asList("a", "b"));
+        StructConverter converter = converter(config(""));
+
+        assertEquals(converter.convert(struct), converter.convert(struct, converter.compile(schema, identity)));
+    }
+
+    @Test
+    void reusesPlanForEqualSchemasOnly() {
+        StructConverter converter = converter(config(""));
+        StructConverter.Plan plan = converter.compile(
+                SchemaBuilder.struct().field("id", Schema.INT64_SCHEMA).build(), identity);
+
+        assertTrue(plan.appliesTo(SchemaBuilder.struct().field("id", Schema.INT64_SCHEMA).build()));
+        assertFalse(plan.appliesTo(SchemaBuilder.struct().field("id", Schema.STRING_SCHEMA).build()));
+    }
+
+    @Test
+    void enforcesValueLimit() {
+        Map<String, String> props = props("");
+        props.put(TectonHttpSinkConnectorConfig.RECORD_MAX_VALUES_CONFIG, "2");
+        Schema schema = SchemaBuilder.struct()
+                .field("a", Schema.INT32_SCHEMA)
+                .field("b", Schema.INT32_SCHEMA)
+                .field("c", Schema.INT32_SCHEMA)
+                .build();
+        Struct struct = new Struct(schema).put("a", 1).put("b", 2).put("c", 3);
+        StructConverter converter = converter(new TectonHttpSinkConnectorConfig(props));
+
+        assertThrows(InvalidRecordException.class, () -> converter.convert(struct));
+        assertThrows(InvalidRecordException.class, () -> converter.convert(struct, converter.compile(schema, identity)));
+    }
+
+    private static StructConverter converter(TectonHttpSinkConnectorConfig config) {
+        return new StructConverter(config, new FieldNameInterner(100), null);
+    }
+
+    private static TectonHttpSinkConnectorConfig config(String decimalOverrides) {
+        return new TectonHttpSinkConnectorConfig(props(decimalOverrides));
+    }
+
+    private static Map<String, String> props(String decimalOverrides) {
+        Map<String, String> props = new HashMap<>();
+        props.put(TectonHttpSinkConnectorConfig.WORKSPACE_NAME_CONFIG, "workspace");
+        props.put(TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG, "push_source");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_CLUSTER_ENDPOINT_CONFIG, "https://example.tecton.ai");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_AUTH_TOKEN_CONFIG, "token");
+        props.put(TectonHttpSinkConnectorConfig.DECIMAL_FORMAT_OVERRIDES_CONFIG, decimalOverrides);
+        return props;
+    }
+}
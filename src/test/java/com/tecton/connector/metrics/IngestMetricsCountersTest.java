@@ -0,0 +1,93 @@
+package com.tecton.connector.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.model.TectonApiResponse;
+import com.tecton.connector.util.JsonUtil;
+
+class IngestMetricsCountersTest {
+
+    private static final String RESPONSE = "{\"workspaceName\":\"workspace\",\"ingestMetrics\":{"
+            + "\"featureViewIngestMetrics\":["
+            + "{\"featureViewName\":\"fv\",\"onlineRecordIngestCount\":\"3\",\"offlineRecordIngestCount\":\"2\"},"
+            + "{\"featureViewName\":\"fv\",\"onlineRecordIngestCount\":\"4\",\"offlineRecordIngestCount\":\"0\"}],"
+            + "\"dataSourceIngestMetrics\":[{\"dataSourceName\":\"ds\",\"offlineRecordIngestCount\":\"5\"}]}}";
+
+    private final ConnectorMetrics metrics = new ConnectorMetrics("ingest-metrics-counters-test", "0");
+    private final IngestMetricsCounters counters = new IngestMetricsCounters(metrics);
+
+    @AfterEach
+    void closeMetrics() {
+        metrics.close();
+    }
+
+    @Test
+    void totalsCountsPerFeatureViewAndDataSource() throws Exception {
+        counters.record(JsonUtil.fromJson(RESPONSE, TectonApiResponse.class));
+        counters.record(JsonUtil.fromJson(RESPONSE, TectonApiResponse.class));
+
+        assertEquals(14.0, count("online-records-ingested-total", "feature-view", "fv"));
+        assertEquals(4.0, count("offline-records-ingested-total", "feature-view", "fv"));
+        assertEquals(10.0, count("offline-records-ingested-total", "data-source", "ds"));
+    }
+
+    @Test
+    void ignoresResponsesWithoutCountsOrWithUnreadableOnes() throws Exception {
+        counters.record((TectonApiResponse) null);
+        counters.record(JsonUtil.fromJson("{\"workspaceName\":\"workspace\"}", TectonApiResponse.class));
+        counters.record(JsonUtil.fromJson("{\"ingestMetrics\":{\"featureViewIngestMetrics\":["
+                + "{\"featureViewName\":\"fv\",\"onlineRecordIngestCount\":\"many\"}]}}", TectonApiResponse.class));
+
+        assertEquals(0, metrics.metrics().metrics().keySet().stream()
+                .filter(name -> name.group().equals("ingest-metrics")).count());
+    }
+
+    @Test
+    void streamsCountsLikeTheBoundResponse() throws Exception {
+        counters.record(stream("{\"extra\":{\"nested\":[1,{\"featureViewName\":\"other\"}]},"
+                + RESPONSE.substring(1, RESPONSE.length() - 1) + ",\"trailing\":null}"));
+
+        assertEquals(7.0, count("online-records-ingested-total", "feature-view", "fv"));
+        assertEquals(2.0, count("offline-records-ingested-total", "feature-view", "fv"));
+        assertEquals(5.0, count("offline-records-ingested-total", "data-source", "ds"));
+        assertEquals(0.0, count("online-records-ingested-total", "feature-view", "other"));
+    }
+
+    @Test
+    void streamsNothingFromBodiesWithoutCounts() throws Exception {
+        counters.record(stream("[]"));
+        counters.record(stream("{\"ingestMetrics\":null,\"featureViewIngestMetrics\":[]}"));
+
+        assertEquals(0, metrics.metrics().metrics().keySet().stream()
+                .filter(name -> name.group().equals("ingest-metrics")).count());
+    }
+
+    @Test
+    void failsOnMalformedStreamedBody() {
+        assertThrows(IOException.class, () -> counters.record(stream("{\"ingestMetrics\":{bad")));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double count(String name, String tag, String value) {
+        for (Map.Entry<MetricName, ? extends Metric> entry : metrics.metrics().metrics().entrySet()) {
+            MetricName metricName = entry.getKey();
+            if (metricName.name().equals(name) && value.equals(metricName.tags().get(tag))) {
+                return ((Number) entry.getValue().metricValue()).doubleValue();
+            }
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.tecton.connector.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.util.JsonUtil;
+
+class KafkaMetadataTest {
+
+    @Test
+    void appendsMetadataAfterRecordFields() throws Exception {
+        ConnectHeaders headers = new ConnectHeaders();
+        headers.addString("source", "web");
+        KafkaMetadata metadata = new KafkaMetadata.Builder()
+                .timestamp(1704164645006L, false)
+                .key("user-1")
+                .headers(headers)
+                .build();
+
+        assertEquals("{\"id\":1,\"kafka_timestamp\":1704164645006,\"kafka_key\":\"user-1\",\"kafka_headers\":{\"source\":\"web\"}}",
+                json(new TectonRecord(data("id", 1), metadata)));
+        assertEquals("{\"id\":1,\"kafka_timestamp\":1704164645006,\"kafka_key\":\"user-1\",\"kafka_headers\":{\"source\":\"web\"}}",
+                json(TectonRecord.fromRawJson(utf8("{\"id\":1}"), metadata)));
+    }
+
+    @Test
+    void leavesOutMetadataFieldsTheRecordAlreadyHas() throws Exception {
+        KafkaMetadata metadata = new KafkaMetadata.Builder()
+                .timestamp(1704164645006L, true)
+                .key("user-1")
+                .build();
+
+        assertEquals("{\"kafka_key\":\"own\",\"kafka_timestamp\":\"2024-01-02T03:04:05.006Z\"}",
+                json(new TectonRecord(data("kafka_key", "own"), metadata)));
+        assertEquals("{\"kafka_key\":\"own\",\"kafka_timestamp\":\"2024-01-02T03:04:05.006Z\"}",
+                json(TectonRecord.fromRawJson(utf8("{\"kafka_key\":\"own\"}"),
+                        metadata.shadowedBy(KafkaMetadata.fieldBit("kafka_key")))));
+    }
+
+    @Test
+    void keepsLastOfDuplicateHeaders() throws Exception {
+        ConnectHeaders headers = new ConnectHeaders();
+        headers.addString("trace", "a");
+        headers.addLong("attempt", 1L);
+        headers.addString("trace", "b");
+        headers.addBytes("raw", new byte[] {1, 2, 3});
+        KafkaMetadata metadata = new KafkaMetadata.Builder().headers(headers).build();
+
+        assertEquals("{\"kafka_headers\":{\"attempt\":1,\"trace\":\"b\",\"raw\":\"AQID\"}}",
+                json(new TectonRecord(new LinkedHashMap<>(), metadata)));
+    }
+
+    @Test
+    void identifiesOnlyMetadataFieldNames() {
+        assertEquals(0, KafkaMetadata.fieldBit("id"));
+        assertEquals(0, KafkaMetadata.fieldBit("kafka_offset"));
+        assertNotEquals(0, KafkaMetadata.fieldBit(KafkaMetadata.HEADERS_FIELD));
+    }
+
+    private static Map<String, Object> data(String name, Object value) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put(name, value);
+        return data;
+    }
+
+    /**
+     * Returns the record object exactly as written to a request, so duplicate names would show.
+     */
+    private static String json(TectonRecord record) throws Exception {
+        String json = new String(JsonUtil.toJsonBytes(record), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"record\":") && json.endsWith("}"), json);
+        return json.substring("{\"record\":".length(), json.length() - 1);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.tecton.connector.processor;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.connect.errors.RetriableException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.client.HttpClient;
+import com.tecton.connector.model.TectonApiRequest;
+import com.tecton.connector.model.TectonApiResponse;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Route;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+class AsynchronousBatchProcessorTest {
+
+    private static final Route ROUTE = new Route("default", null, "push_source", "workspace", 100);
+
+    private final HttpClient httpClient = mock(HttpClient.class);
+    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final AsynchronousBatchProcessor processor =
+            new AsynchronousBatchProcessor(config(), httpClient, errorHandler, null);
+
+    @Test
+    void failsPutWhenFirstBatchCannotBeBuffered() {
+        when(httpClient.sendAsync(any(TectonApiRequest.class)))
+                .thenThrow(new RetriableException("Failed to reserve buffer memory"));
+
+        assertThrows(RetriableException.class, () -> processor.processAll(Arrays.asList(batch(1), batch(2))));
+        verify(httpClient, times(1)).sendAsync(any(TectonApiRequest.class));
+    }
+
+    @Test
+    void waitsForBufferOnceAnEarlierBatchOfThePutIsDispatched() {
+        CompletableFuture<TectonApiResponse> acknowledged = CompletableFuture.completedFuture(null);
+        when(httpClient.sendAsync(any(TectonApiRequest.class)))
+                .thenReturn(acknowledged)
+                .thenThrow(new RetriableException("Failed to reserve buffer memory"))
+                .thenThrow(new RetriableException("Failed to reserve buffer memory"))
+                .thenReturn(acknowledged);
+
+        processor.processAll(Arrays.asList(batch(1), batch(2)));
+        processor.flush();
+
+        verify(httpClient, times(4)).sendAsync(any(TectonApiRequest.class));
+    }
+
+    private static TectonHttpSinkConnectorConfig config() {
+        Map<String, String> props = new HashMap<>();
+        props.put(TectonHttpSinkConnectorConfig.WORKSPACE_NAME_CONFIG, "workspace");
+        props.put(TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG, "push_source");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_CLUSTER_ENDPOINT_CONFIG, "https://example.tecton.ai");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_AUTH_TOKEN_CONFIG, "token");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_ASYNC_ENABLED_CONFIG, "true");
+        return new TectonHttpSinkConnectorConfig(props);
+    }
+
+    private static List<ConvertedRecord> batch(long offset) {
+        SinkRecord sinkRecord = new SinkRecord("topic", 0, null, null, null, "{\"id\":" + offset + "}", offset);
+        TectonRecord tectonRecord = new TectonRecord(Collections.singletonMap("id", offset));
+        return Collections.singletonList(new ConvertedRecord(sinkRecord, tectonRecord, ROUTE));
+    }
+}
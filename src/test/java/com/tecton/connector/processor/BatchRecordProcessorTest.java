@@ -0,0 +1,106 @@
+package com.tecton.connector.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.connect.sink.ErrantRecordReporter;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import com.tecton.connector.client.HttpClient;
+import com.tecton.connector.error.InvalidRecordException;
+import com.tecton.connector.model.TectonApiRequest;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Router;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+class BatchRecordProcessorTest {
+
+    private static final int RECORDS = 2000;
+    private static final int REJECTED = (RECORDS + 6) / 7;
+    private static final int BATCH_MAX_SIZE = 300;
+
+    private final Set<String> conversionThreads = ConcurrentHashMap.newKeySet();
+    private final HttpClient httpClient = mock(HttpClient.class);
+    private final ErrantRecordReporter reporter = mock(ErrantRecordReporter.class);
+    private final TectonHttpSinkConnectorConfig config = config();
+    private final BatchRecordProcessor processor = new BatchRecordProcessor(config, this::convert,
+            new Router(config), httpClient, mock(ErrorHandler.class), reporter, null, null);
+
+    @AfterEach
+    void closeProcessor() {
+        processor.close();
+    }
+
+    @Test
+    void keepsDeliveryOrderWhenConvertingInParallel() throws Exception {
+        List<SinkRecord> records = new ArrayList<>();
+        for (long offset = 0; offset < RECORDS; offset++) {
+            records.add(new SinkRecord("topic", 0, null, null, null, offset, offset));
+        }
+
+        processor.processRecords(records);
+
+        ArgumentCaptor<TectonApiRequest> requests = ArgumentCaptor.forClass(TectonApiRequest.class);
+        verify(httpClient, times((RECORDS - REJECTED + BATCH_MAX_SIZE - 1) / BATCH_MAX_SIZE))
+                .sendSync(requests.capture());
+        List<Object> sent = new ArrayList<>();
+        for (TectonApiRequest request : requests.getAllValues()) {
+            for (TectonRecord record : request.getRecords().get("push_source")) {
+                sent.add(record.getRecordData().get("id"));
+            }
+        }
+        ArgumentCaptor<SinkRecord> reported = ArgumentCaptor.forClass(SinkRecord.class);
+        verify(reporter, times(REJECTED)).report(reported.capture(), any(InvalidRecordException.class));
+
+        List<Object> expectedSent = new ArrayList<>();
+        List<Object> expectedReported = new ArrayList<>();
+        for (long offset = 0; offset < RECORDS; offset++) {
+            (offset % 7 == 0 ? expectedReported : expectedSent).add(offset);
+        }
+        assertEquals(expectedSent, sent);
+        List<Object> reportedOffsets = new ArrayList<>();
+        for (SinkRecord record : reported.getAllValues()) {
+            reportedOffsets.add(record.kafkaOffset());
+        }
+        assertEquals(expectedReported, reportedOffsets);
+        assertTrue(conversionThreads.stream().allMatch(name -> name.startsWith("tecton-convert-")),
+                conversionThreads::toString);
+    }
+
+    /**
+     * Converts the offset held by a record, rejecting every seventh one.
+     */
+    private TectonRecord convert(SinkRecord record) throws InvalidRecordException {
+        conversionThreads.add(Thread.currentThread().getName());
+        long offset = (Long) record.value();
+        if (offset % 7 == 0) {
+            throw new InvalidRecordException("Rejected record at offset " + offset);
+        }
+        return new TectonRecord(Collections.singletonMap("id", offset));
+    }
+
+    private static TectonHttpSinkConnectorConfig config() {
+        Map<String, String> props = new HashMap<>();
+        props.put(TectonHttpSinkConnectorConfig.WORKSPACE_NAME_CONFIG, "workspace");
+        props.put(TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG, "push_source");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_CLUSTER_ENDPOINT_CONFIG, "https://example.tecton.ai");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_AUTH_TOKEN_CONFIG, "token");
+        props.put(TectonHttpSinkConnectorConfig.BATCH_MAX_SIZE_CONFIG, String.valueOf(BATCH_MAX_SIZE));
+        props.put(TectonHttpSinkConnectorConfig.CONVERSION_PARALLEL_THRESHOLD_CONFIG, "1000");
+        props.put(TectonHttpSinkConnectorConfig.CONVERSION_PARALLELISM_CONFIG, "4");
+        return new TectonHttpSinkConnectorConfig(props);
+    }
+}
@@ -0,0 +1,73 @@
+package com.tecton.connector.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Route;
+
+class RecordCompactorTest {
+
+    private static final Route ROUTE = new Route("default", null, "push_source", "workspace", 100);
+
+    @Test
+    void keepsLatestRecordOfEachKafkaKeyInDeliveryOrder() {
+        List<ConvertedRecord> records = Arrays.asList(
+                record(0, "a", null), record(1, "b", null), record(2, "a", null), record(3, null, null));
+
+        List<ConvertedRecord> kept = new RecordCompactor(Collections.emptyList()).compact(records);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), offsets(kept));
+    }
+
+    @Test
+    void comparesByteArrayKeysByContent() {
+        List<ConvertedRecord> records = Arrays.asList(
+                record(0, new byte[] {1, 2}, null), record(1, new byte[] {1, 2}, null), record(2, new byte[] {3}, null));
+
+        List<ConvertedRecord> kept = new RecordCompactor(Collections.emptyList()).compact(records);
+
+        assertEquals(Arrays.asList(1L, 2L), offsets(kept));
+    }
+
+    @Test
+    void keysByCompactionKeyFieldsWhenConfigured() {
+        List<ConvertedRecord> records = Arrays.asList(
+                record(0, "same", Arrays.asList("1", null)),
+                record(1, "same", Arrays.asList("2", null)),
+                record(2, "same", Arrays.asList("1", null)),
+                record(3, "same", null));
+
+        List<ConvertedRecord> kept = new RecordCompactor(Arrays.asList("id", "region")).compact(records);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), offsets(kept));
+    }
+
+    @Test
+    void returnsSameListWhenNothingIsDropped() {
+        List<ConvertedRecord> records = Arrays.asList(record(0, "a", null), record(1, "b", null));
+
+        assertSame(records, new RecordCompactor(Collections.emptyList()).compact(records));
+    }
+
+    private static ConvertedRecord record(long offset, Object key, List<String> compactionKey) {
+        SinkRecord sinkRecord = new SinkRecord("topic", 0, null, key, null, "{}", offset);
+        TectonRecord tectonRecord = new TectonRecord(Collections.singletonMap("offset", offset));
+        tectonRecord.setCompactionKey(compactionKey);
+        return new ConvertedRecord(sinkRecord, tectonRecord, ROUTE);
+    }
+
+    private static List<Long> offsets(List<ConvertedRecord> records) {
+        List<Long> offsets = new ArrayList<>();
+        for (ConvertedRecord record : records) {
+            offsets.add(record.getSinkRecord().kafkaOffset());
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,84 @@
+package com.tecton.connector.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.tecton.connector.metrics.ConnectorMetrics;
+import com.tecton.connector.model.TectonRecord;
+import com.tecton.connector.routing.Router;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+class StaleRecordFilterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long MAX_EVENT_AGE_MS = 60_000L;
+
+    private final TectonHttpSinkConnectorConfig config = config();
+    private final ConnectorMetrics metrics = new ConnectorMetrics("stale-record-filter-test", "0");
+    private final StaleRecordFilter filter = new StaleRecordFilter(config, new Router(config), metrics);
+
+    @AfterEach
+    void closeMetrics() {
+        metrics.close();
+    }
+
+    @Test
+    void prefersEventTimeCapturedDuringConversion() {
+        SinkRecord fresh = sinkRecord(NOW);
+
+        assertEquals(120_000L, filter.staleAge(fresh, tectonRecord(NOW - 120_000L), NOW));
+        assertEquals(-1L, filter.staleAge(sinkRecord(NOW - 120_000L), tectonRecord(NOW), NOW));
+        assertEquals(1.0, skipped());
+    }
+
+    @Test
+    void fallsBackToKafkaTimestamp() {
+        assertEquals(120_000L, filter.staleAge(sinkRecord(NOW - 120_000L), tectonRecord(null), NOW));
+        assertEquals(-1L, filter.staleAge(sinkRecord(NOW - MAX_EVENT_AGE_MS), tectonRecord(null), NOW));
+    }
+
+    @Test
+    void neverSkipsRecordsWithoutAnyTime() {
+        assertEquals(-1L, filter.staleAge(sinkRecord(null), tectonRecord(null), NOW));
+        assertEquals(0.0, skipped());
+    }
+
+    private double skipped() {
+        for (Map.Entry<MetricName, ? extends Metric> entry : metrics.metrics().metrics().entrySet()) {
+            if (entry.getKey().name().equals("stale-records-skipped-total")) {
+                return ((Number) entry.getValue().metricValue()).doubleValue();
+            }
+        }
+        return 0.0;
+    }
+
+    private static SinkRecord sinkRecord(Long timestamp) {
+        return new SinkRecord("topic", 0, null, null, null, "{\"id\":1}", 0,
+                timestamp, timestamp == null ? TimestampType.NO_TIMESTAMP_TYPE : TimestampType.CREATE_TIME);
+    }
+
+    private static TectonRecord tectonRecord(Long eventTime) {
+        TectonRecord record = new TectonRecord(Collections.singletonMap("id", 1));
+        record.setEventTime(eventTime);
+        return record;
+    }
+
+    private static TectonHttpSinkConnectorConfig config() {
+        Map<String, String> props = new HashMap<>();
+        props.put(TectonHttpSinkConnectorConfig.WORKSPACE_NAME_CONFIG, "workspace");
+        props.put(TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG, "push_source");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_CLUSTER_ENDPOINT_CONFIG, "https://example.tecton.ai");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_AUTH_TOKEN_CONFIG, "token");
+        props.put(TectonHttpSinkConnectorConfig.MAX_EVENT_AGE_CONFIG, String.valueOf(MAX_EVENT_AGE_MS));
+        props.put(TectonHttpSinkConnectorConfig.EVENT_TIME_FIELD_CONFIG, "ts");
+        return new TectonHttpSinkConnectorConfig(props);
+    }
+}
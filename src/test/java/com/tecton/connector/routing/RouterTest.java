@@ -0,0 +1,120 @@
+package com.tecton.connector.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.jupiter.api.Test;
+import com.tecton.kafka.connect.TectonHttpSinkConnectorConfig;
+
+class RouterTest {
+
+    @Test
+    void usesFirstMatchingRoute() {
+        Map<String, String> props = props();
+        props.put(TectonHttpSinkConnectorConfig.ROUTES_CONFIG, "orders,all");
+        props.put("tecton.route.orders.topics.regex", "orders\\..*");
+        props.put("tecton.route.orders.push.source", "orders_source");
+        props.put("tecton.route.orders.batch.max.size", "10");
+        props.put("tecton.route.all.topics.regex", ".*");
+        props.put("tecton.route.all.push.source", "all_source");
+        Router router = new Router(new TectonHttpSinkConnectorConfig(props));
+
+        Route orders = router.route("orders.eu");
+
+        assertEquals("orders", orders.getName());
+        assertEquals("orders_source", orders.getPushSource());
+        assertEquals(10, orders.getBatchMaxSize());
+        assertSame(orders, router.route("orders.us"));
+        assertEquals("all_source", router.route("payments").getPushSource());
+    }
+
+    @Test
+    void writesToPushSourceNamedAfterTopicWhenRouteHasNone() {
+        Map<String, String> props = props();
+        props.put(TectonHttpSinkConnectorConfig.ROUTES_CONFIG, "events");
+        props.put("tecton.route.events.topics.regex", "events_.*");
+        props.put("tecton.route.events.workspace", "events_workspace");
+        Router router = new Router(new TectonHttpSinkConnectorConfig(props));
+
+        Route route = router.route("events_clicks");
+
+        assertEquals("events_clicks", route.getPushSource());
+        assertEquals("events_workspace", route.getWorkspaceName());
+        assertSame(route, router.route("events_clicks"));
+    }
+
+    @Test
+    void fallsBackToDefaultPushSource() {
+        Map<String, String> props = props();
+        props.put(TectonHttpSinkConnectorConfig.ROUTES_CONFIG, "events");
+        props.put("tecton.route.events.topics.regex", "events_.*");
+        Router router = new Router(new TectonHttpSinkConnectorConfig(props));
+
+        Route route = router.route("payments");
+
+        assertEquals("default", route.getName());
+        assertEquals("push_source", route.getPushSource());
+        assertEquals("workspace", route.getWorkspaceName());
+    }
+
+    @Test
+    void rejectsRouteWithoutTopicRegex() {
+        Map<String, String> props = props();
+        props.put(TectonHttpSinkConnectorConfig.ROUTES_CONFIG, "events");
+
+        assertThrows(ConfigException.class, () -> new TectonHttpSinkConnectorConfig(props));
+    }
+
+    @Test
+    void routesRecordsByFieldValue() {
+        Map<String, String> props = props();
+        props.put(TectonHttpSinkConnectorConfig.ROUTES_CONFIG, "events");
+        props.put("tecton.route.events.topics.regex", "events");
+        props.put("tecton.route.events.push.source", "other_events");
+        props.put("tecton.route.events.routing.field", "type");
+        props.put("tecton.route.events.routing.values", "click:clicks, view:views");
+        Router router = new Router(new TectonHttpSinkConnectorConfig(props));
+
+        Route clicks = router.route("events", "click");
+
+        assertEquals("clicks", clicks.getPushSource());
+        assertSame(clicks, router.route("events", "click"));
+        assertEquals("views", router.route("events", "view").getPushSource());
+        assertEquals("other_events", router.route("events", "purchase").getPushSource());
+        assertEquals("other_events", router.route("events", null).getPushSource());
+        assertEquals("type", router.route("events").getRoutingField());
+    }
+
+    @Test
+    void routesRecordsOfDefaultRouteByFieldValue() {
+        Map<String, String> props = props();
+        props.put(TectonHttpSinkConnectorConfig.ROUTING_FIELD_CONFIG, "type");
+        props.put(TectonHttpSinkConnectorConfig.ROUTING_VALUES_CONFIG, "click:clicks");
+        Router router = new Router(new TectonHttpSinkConnectorConfig(props));
+
+        assertEquals("clicks", router.route("events", "click").getPushSource());
+        assertEquals("push_source", router.route("events", "view").getPushSource());
+    }
+
+    @Test
+    void rejectsMalformedRoutingValues() {
+        Map<String, String> props = props();
+        props.put(TectonHttpSinkConnectorConfig.ROUTING_FIELD_CONFIG, "type");
+        props.put(TectonHttpSinkConnectorConfig.ROUTING_VALUES_CONFIG, "click");
+
+        assertThrows(ConfigException.class, () -> new TectonHttpSinkConnectorConfig(props));
+    }
+
+    private static Map<String, String> props() {
+        Map<String, String> props = new HashMap<>();
+        props.put(TectonHttpSinkConnectorConfig.WORKSPACE_NAME_CONFIG, "workspace");
+        props.put(TectonHttpSinkConnectorConfig.PUSH_SOURCE_NAME_CONFIG, "push_source");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_CLUSTER_ENDPOINT_CONFIG, "https://example.tecton.ai");
+        props.put(TectonHttpSinkConnectorConfig.HTTP_AUTH_TOKEN_CONFIG, "token");
+        return props;
+    }
+}
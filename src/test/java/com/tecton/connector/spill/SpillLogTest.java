@@ -0,0 +1,220 @@
+package com.tecton.connector.spill;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.tecton.connector.error.ConnectorException;
+import com.tecton.connector.metrics.ConnectorMetrics;
+
+class SpillLogTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final List<ConnectorMetrics> metrics = new ArrayList<>();
+
+    @AfterEach
+    void closeMetrics() {
+        metrics.forEach(ConnectorMetrics::close);
+    }
+
+    @Test
+    void peeksAndAcksEntriesInOrder() throws Exception {
+        SpillLog log = open(SEGMENT_BYTES, MAX_BYTES);
+        log.append(entry("a"));
+        log.append(entry("b"));
+        log.append(entry("c"));
+
+        assertEntries(log.peek(2), "a", "b");
+        log.ack(1);
+        assertEntries(log.peek(10), "b", "c");
+        assertEquals(2, log.size());
+        log.ack(2);
+        assertTrue(log.isEmpty());
+        assertTrue(log.peek(10).isEmpty());
+        log.close();
+    }
+
+    @Test
+    void resumesFromCheckpointAfterRestart() throws Exception {
+        SpillLog log = open(SEGMENT_BYTES, MAX_BYTES);
+        log.append(entry("a"));
+        log.append(entry("b"));
+        log.append(entry("c"));
+        log.ack(1);
+        log.close();
+
+        SpillLog reopened = open(SEGMENT_BYTES, MAX_BYTES);
+        assertEquals(2, reopened.size());
+        assertEntries(reopened.peek(10), "b", "c");
+        reopened.close();
+    }
+
+    @Test
+    void discardsTornEntryAtEndOfLog() throws Exception {
+        SpillLog log = open(SEGMENT_BYTES, MAX_BYTES);
+        log.append(entry("a"));
+        log.append(entry("torn"));
+        log.close();
+        // Corrupt the payload of the last entry, as a crash in the middle of writing it would
+        Path segment = segments().get(0);
+        int lastPayload = 8 + 1 + 8;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), lastPayload);
+        }
+
+        SpillLog reopened = open(SEGMENT_BYTES, MAX_BYTES);
+        assertEquals(1, reopened.size());
+        reopened.append(entry("d"));
+        assertEntries(reopened.peek(10), "a", "d");
+        reopened.close();
+
+        // The new entry overwrote the torn one, so it survives another restart
+        SpillLog again = open(SEGMENT_BYTES, MAX_BYTES);
+        assertEntries(again.peek(10), "a", "d");
+        again.close();
+    }
+
+    @Test
+    void ignoresTruncatedLengthAtEndOfSegment() throws Exception {
+        SpillLog log = open(SEGMENT_BYTES, MAX_BYTES);
+        log.append(entry("a"));
+        log.close();
+        // A length running past the end of the segment, with no intact entry behind it
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, SEGMENT_BYTES), 8 + 1);
+        }
+
+        SpillLog reopened = open(SEGMENT_BYTES, MAX_BYTES);
+        assertEquals(1, reopened.size());
+        assertEntries(reopened.peek(10), "a");
+        reopened.close();
+    }
+
+    @Test
+    void rollsSegmentsAndDeletesThemOnceAcked() throws Exception {
+        // Each entry fills most of a segment, so every append rolls a new one
+        int segmentBytes = 64;
+        SpillLog log = open(segmentBytes, MAX_BYTES);
+        log.append(entry(repeat('a', 40)));
+        log.append(entry(repeat('b', 40)));
+        log.append(entry(repeat('c', 40)));
+        assertEquals(3, segments().size());
+        assertEquals(3L * segmentBytes, log.sizeBytes());
+
+        assertEntries(log.peek(10), repeat('a', 40), repeat('b', 40), repeat('c', 40));
+        log.ack(1);
+        assertEquals(2, segments().size());
+        log.ack(2);
+        // The last segment is kept for the next append
+        assertEquals(1, segments().size());
+        assertEquals(segmentBytes, log.sizeBytes());
+        log.close();
+
+        SpillLog reopened = open(segmentBytes, MAX_BYTES);
+        assertTrue(reopened.isEmpty());
+        reopened.append(entry("d"));
+        assertEntries(reopened.peek(10), "d");
+        reopened.close();
+    }
+
+    @Test
+    void deletesSegmentsAckedBeforeRestart() throws Exception {
+        int segmentBytes = 64;
+        SpillLog log = open(segmentBytes, MAX_BYTES);
+        log.append(entry(repeat('a', 40)));
+        log.append(entry(repeat('b', 40)));
+        log.ack(1);
+        log.close();
+        // Left behind as if the task stopped before deleting it
+        Files.write(directory.resolve(String.format("%020d.spill", 0)), new byte[segmentBytes]);
+
+        SpillLog reopened = open(segmentBytes, MAX_BYTES);
+        assertEquals(1, segments().size());
+        assertEntries(reopened.peek(10), repeat('b', 40));
+        reopened.close();
+    }
+
+    @Test
+    void rejectsAppendsOnceFull() throws Exception {
+        int segmentBytes = 64;
+        SpillLog log = open(segmentBytes, 2L * segmentBytes);
+        log.append(entry(repeat('a', 40)));
+        log.append(entry(repeat('b', 40)));
+
+        assertThrows(ConnectorException.class, () -> log.append(entry(repeat('c', 40))));
+        assertEquals(2, log.size());
+        log.ack(1);
+        log.append(entry(repeat('c', 40)));
+        assertEntries(log.peek(10), repeat('b', 40), repeat('c', 40));
+        log.close();
+    }
+
+    @Test
+    void staysNonEmptyUntilEveryEntryIsAcked() throws Exception {
+        SpillLog log = open(SEGMENT_BYTES, MAX_BYTES);
+        assertTrue(log.isEmpty());
+        log.append(entry("a"));
+        log.append(entry("b"));
+
+        log.ack(1);
+        assertFalse(log.isEmpty());
+        log.append(entry("c"));
+        log.ack(1);
+        assertFalse(log.isEmpty());
+        log.ack(1);
+        assertTrue(log.isEmpty());
+        log.close();
+    }
+
+    private SpillLog open(int segmentBytes, long maxBytes) throws IOException {
+        ConnectorMetrics taskMetrics = new ConnectorMetrics("spill-log-test", String.valueOf(metrics.size()));
+        metrics.add(taskMetrics);
+        return new SpillLog(directory, segmentBytes, maxBytes, taskMetrics);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".spill")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] entry(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private static void assertEntries(List<byte[]> entries, String... expected) {
+        assertEquals(expected.length, entries.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(entry(expected[i]), entries.get(i));
+        }
+    }
+}